@@ -0,0 +1,199 @@
+package textProcess.benchmark;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import textProcess.compute.TextAnalyzer;
+import textProcess.structures.CountingStrategy;
+import textProcess.structures.WordCounter;
+
+
+/**
+ * Benchmark comparing the word counting strategies
+ * used for parallel text analysis, under 1 to 64 threads.
+ *
+ * The input file is tokenized once up front, so only the
+ * counting itself (including the final merge into a single
+ * word-to-frequency map) is timed. The heap retained by each
+ * counter once all threads have finished is also reported.
+ *
+ * :EXAMPLE USAGE:
+ *
+ * java textProcess.benchmark.CounterBenchmark <input_file_containing_text> [repetitions_of_the_input]
+ *
+ * @author David Olorundare
+ *
+ */
+public final class CounterBenchmark
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the thread counts each strategy is measured under.
+	private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+	// Represents the number of untimed runs done before measuring.
+	private static final int WARMUP_ROUNDS = 3;
+
+	// Represents the number of timed runs; the median is reported.
+	private static final int MEASURED_ROUNDS = 5;
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Private Constructor of the class.
+	 *
+	 */
+	private CounterBenchmark() {	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		if (args.length == 0)
+		{
+			System.out.println(":Usage: java textProcess.benchmark.CounterBenchmark <input_file_containing_text> [repetitions_of_the_input]");
+			return;
+		}
+
+		int repetitions = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
+		String[] tokens = loadTokens(args[0], repetitions);
+
+		System.out.println("# of tokens = " + tokens.length);
+		System.out.println(String.format("%-8s %-8s %12s %14s %12s", "threads", "counter", "median ms", "Mtokens/s", "heap MB"));
+
+		for (int threads : THREAD_COUNTS)
+		{
+			for (CountingStrategy strategy : CountingStrategy.values())
+			{
+				for (int i = 0; i < WARMUP_ROUNDS; i++) { timeRun(strategy, tokens, threads); }
+
+				long[] timings = new long[MEASURED_ROUNDS];
+				for (int i = 0; i < MEASURED_ROUNDS; i++) { timings[i] = timeRun(strategy, tokens, threads); }
+				Arrays.sort(timings);
+				long median = timings[MEASURED_ROUNDS / 2];
+
+				System.out.println(String.format("%-8d %-8s %12.1f %14.2f %12.1f", threads, strategy.name().toLowerCase(),
+						median / 1e6, tokens.length / (median / 1e3), retainedHeap(strategy, tokens, threads) / 1e6));
+			}
+		}
+	}
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * Helper method that reads and tokenizes an input
+	 * file, repeating its tokens a given number of times.
+	 *
+	 * @param filePath		the file containing the text to tokenize.
+	 * @param repetitions	the number of copies of the tokens to return.
+	 *
+	 * @return	the tokens of the input file.
+	 *
+	 * @throws IOException	if an error occurs while reading the input file.
+	 */
+	private static String[] loadTokens(String filePath, int repetitions) throws IOException
+	{
+		TextAnalyzer analyzer = TextAnalyzer.getInstance();
+		List<String> tokens = new ArrayList<String>();
+
+		BufferedReader read = new BufferedReader(new FileReader(filePath));
+		String lineOfText;
+		while ((lineOfText = read.readLine()) != null) { tokens.addAll(analyzer.tokenizeParagraph(lineOfText)); }
+		read.close();
+
+		String[] once = tokens.toArray(new String[0]);
+		String[] all = new String[once.length * repetitions];
+		for (int i = 0; i < repetitions; i++) { System.arraycopy(once, 0, all, i * once.length, once.length); }
+		return all;
+	}
+
+
+	/**
+	 * Helper method that counts all the tokens with
+	 * a new counter, splitting them into contiguous
+	 * slices among the given number of threads.
+	 *
+	 * @return	the counter once all threads have finished.
+	 */
+	private static WordCounter count(CountingStrategy strategy, String[] tokens, int threads) throws InterruptedException
+	{
+		WordCounter counter = strategy.newCounter();
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++)
+		{
+			int from = (int) ((long) tokens.length * t / threads);
+			int to = (int) ((long) tokens.length * (t + 1) / threads);
+			workers[t] = new Thread(() ->
+			{
+				for (int i = from; i < to; i++) { counter.increment(tokens[i]); }
+			});
+			workers[t].start();
+		}
+		for (Thread worker : workers) { worker.join(); }
+		return counter;
+	}
+
+
+	/**
+	 * Helper method that times one counting run,
+	 * including merging the result into a single map.
+	 *
+	 * @return	the elapsed time in nanoseconds.
+	 */
+	private static long timeRun(CountingStrategy strategy, String[] tokens, int threads) throws InterruptedException
+	{
+		long start = System.nanoTime();
+		Map<String, Integer> words = count(strategy, tokens, threads).toMap();
+		long elapsed = System.nanoTime() - start;
+
+		long total = 0;
+		for (int frequency : words.values()) { total += frequency; }
+		if (total != tokens.length)
+		{ throw new IllegalStateException(strategy + " counted " + total + " of " + tokens.length + " tokens"); }
+
+		return elapsed;
+	}
+
+
+	/**
+	 * Helper method that estimates the heap retained by
+	 * a counter once all threads have finished counting.
+	 *
+	 * @return	the retained heap in bytes.
+	 */
+	private static long retainedHeap(CountingStrategy strategy, String[] tokens, int threads) throws InterruptedException
+	{
+		long before = usedHeap();
+		WordCounter counter = count(strategy, tokens, threads);
+		long after = usedHeap();
+
+		// Keep the counter reachable until after the measurement.
+		if (counter.toMap().isEmpty() && tokens.length > 0) { throw new IllegalStateException(); }
+		return Math.max(0, after - before);
+	}
+
+
+	/**
+	 * Helper method that returns the heap in use after a full collection.
+	 */
+	private static long usedHeap()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) { System.gc(); }
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -0,0 +1,205 @@
+package textProcess.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import textProcess.core.ExecutionPlanner;
+import textProcess.core.TextPreProcessorMain;
+
+
+/**
+ * Benchmark measuring the time-to-first-result of
+ * separate TextPreProcessorMain processes on small inputs,
+ * where JVM startup rather than analysis dominates.
+ *
+ * Each input is run in fresh JVMs under three settings: the
+ * default JVM, with an application class-data-sharing (AppCDS)
+ * archive of the textProcess classes, and with the archive plus
+ * only the quick (C1) JIT compiler. If the archive does not exist
+ * it is first created by a training run on the first input.
+ * Runs are not planned (--plan=off), so they all analyze on one
+ * thread and neither read nor record timings of past runs.
+ *
+ * Class-data-sharing only archives classes loaded from JAR files,
+ * so the benchmark must be run with the textProcess classes packaged
+ * in a JAR along with the rule files and META-INF, built as the README
+ * describes, e.g. jar cf textProcess.jar -C build textProcess -C build META-INF
+ *
+ * Time-to-first-result is the time from launching the process
+ * until the first line of the analysis is printed; the time until
+ * the process exits is also reported.
+ *
+ * :EXAMPLE USAGE:
+ *
+ * java textProcess.benchmark.StartupBenchmark [--runs=N] [--archive=ARCHIVE_FILE] <input_file_containing_text>...
+ *
+ * @author David Olorundare
+ *
+ */
+public final class StartupBenchmark
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the AppCDS archive used when none is given.
+	private static final String DEFAULT_ARCHIVE = "textProcess.jsa";
+
+	// Represents the number of timed runs of each setting used when none is given; the median is reported.
+	private static final int DEFAULT_RUNS = 10;
+
+	// Represents the names of the JVM settings measured.
+	private static final String[] SETTINGS = {"default", "appcds", "appcds+c1"};
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Private Constructor of the class.
+	 *
+	 */
+	private StartupBenchmark() {	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		int runs = DEFAULT_RUNS;
+		String archive = DEFAULT_ARCHIVE;
+		List<String> inputs = new ArrayList<String>();
+		for (String arg : args)
+		{
+			if (arg.startsWith("--runs=")) { runs = Integer.parseInt(arg.substring("--runs=".length())); }
+			else if (arg.startsWith("--archive=")) { archive = arg.substring("--archive=".length()); }
+			else { inputs.add(arg); }
+		}
+
+		if (inputs.isEmpty())
+		{
+			System.out.println(":Usage: java textProcess.benchmark.StartupBenchmark [--runs=N] [--archive=ARCHIVE_FILE] <input_file_containing_text>...");
+			return;
+		}
+
+		for (String entry : System.getProperty("java.class.path").split(File.pathSeparator))
+		{
+			if (new File(entry).isDirectory())
+			{ throw new IllegalArgumentException("Class-Data Sharing Needs the Classes in a JAR File, not the Directory " + entry); }
+		}
+
+		File output = File.createTempFile("startup-benchmark", ".txt");
+		output.deleteOnExit();
+
+		if (!new File(archive).exists())
+		{
+			System.out.println("Creating AppCDS archive " + archive);
+			runAnalysis(jvmOptions("-XX:ArchiveClassesAtExit=" + archive), inputs.get(0), output);
+		}
+
+		System.out.println(String.format("%-24s %-10s %16s %12s", "input", "setting", "first result ms", "exit ms"));
+		for (String input : inputs)
+		{
+			for (String setting : SETTINGS)
+			{
+				List<String> options = optionsFor(setting, archive);
+
+				// One untimed run, so the input and the JVM files are in the OS cache.
+				runAnalysis(options, input, output);
+
+				long[] firstResult = new long[runs];
+				long[] exit = new long[runs];
+				for (int i = 0; i < runs; i++)
+				{
+					long[] timings = runAnalysis(options, input, output);
+					firstResult[i] = timings[0];
+					exit[i] = timings[1];
+				}
+				Arrays.sort(firstResult);
+				Arrays.sort(exit);
+
+				System.out.println(String.format("%-24s %-10s %16.1f %12.1f", new File(input).getName(), setting,
+						firstResult[runs / 2] / 1e6, exit[runs / 2] / 1e6));
+			}
+		}
+	}
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * Helper method that returns the JVM options of a setting.
+	 */
+	private static List<String> optionsFor(String setting, String archive)
+	{
+		switch (setting)
+		{
+			case "appcds": return jvmOptions("-XX:SharedArchiveFile=" + archive);
+			case "appcds+c1": return jvmOptions("-XX:SharedArchiveFile=" + archive, "-XX:TieredStopAtLevel=1");
+			default: return jvmOptions();
+		}
+	}
+
+
+	/**
+	 * Helper method that returns the given JVM options,
+	 * preceded by the classpath of this JVM.
+	 */
+	private static List<String> jvmOptions(String... options)
+	{
+		List<String> result = new ArrayList<String>();
+		result.add("-cp");
+		result.add(System.getProperty("java.class.path"));
+		result.addAll(Arrays.asList(options));
+		return result;
+	}
+
+
+	/**
+	 * Helper method that analyzes an input file in a new
+	 * JVM process, timing the first line of output and the
+	 * exit of the process.
+	 *
+	 * @return	the nanoseconds until the first result, and until exit.
+	 *
+	 * @throws IOException	if the process cannot be started, or fails.
+	 */
+	private static long[] runAnalysis(List<String> options, String input, File output) throws IOException, InterruptedException
+	{
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.addAll(options);
+		command.add(TextPreProcessorMain.class.getName());
+		command.add(input);
+		command.add(output.getPath());
+
+		// Each run is analyzed on one thread, with no planning, so only startup varies.
+		command.add("--plan=off");
+
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+		BufferedReader read = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		String firstLine = read.readLine();
+		while (firstLine != null && firstLine.startsWith(ExecutionPlanner.LOG_PREFIX)) { firstLine = read.readLine(); }
+		long firstResult = System.nanoTime() - start;
+		while (read.readLine() != null) { }
+		read.close();
+
+		int status = process.waitFor();
+		long exit = System.nanoTime() - start;
+
+		if (status != 0 || firstLine == null || !firstLine.startsWith("# of paragraphs"))
+		{ throw new IOException("Analysis of " + input + " failed: " + firstLine); }
+
+		return new long[] {firstResult, exit};
+	}
+
+}
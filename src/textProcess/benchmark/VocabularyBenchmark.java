@@ -0,0 +1,243 @@
+package textProcess.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import textProcess.structures.OffHeapVocabulary;
+
+
+/**
+ * Benchmark comparing the garbage collection cost of keeping
+ * a very large vocabulary in a heap map of String keys and
+ * Integer counts, as the single-threaded analysis does, with
+ * keeping it in an OffHeapVocabulary, in direct memory or in a
+ * memory-mapped scratch file.
+ *
+ * A given number of distinct made-up words (like the URLs, user
+ * names and typos of review dumps) are each counted a given number
+ * of times, and the vocabulary is then sorted for printing. Each store
+ * is measured in a fresh JVM started with this JVM's options (e.g. -Xmx),
+ * reporting the elapsed time, the number of collections, their total and
+ * longest pause, and the heap in use after counting.
+ *
+ * :EXAMPLE USAGE:
+ *
+ * java -Xmx4g textProcess.benchmark.VocabularyBenchmark <distinct_words> [repetitions_of_each_word]
+ *
+ * @author David Olorundare
+ *
+ */
+public final class VocabularyBenchmark
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the names of the vocabulary stores measured.
+	private static final String[] STORES = {"heap-map", "off-heap", "mapped"};
+
+	// Represents the number of collections seen so far.
+	private static long collections;
+
+	// Represents the total and longest collection pause seen so far, in milliseconds.
+	private static long totalPause;
+	private static long longestPause;
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Private Constructor of the class.
+	 *
+	 */
+	private VocabularyBenchmark() {	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		if (args.length == 0)
+		{
+			System.out.println(":Usage: java textProcess.benchmark.VocabularyBenchmark <distinct_words> [repetitions_of_each_word]");
+			return;
+		}
+
+		int words = Integer.parseInt(args[0]);
+		int repetitions = (args.length > 1) ? Integer.parseInt(args[1]) : 2;
+
+		// A store name after the counts means this is the JVM measuring that store.
+		if (args.length > 2)
+		{
+			measure(args[2], words, repetitions);
+			return;
+		}
+
+		System.out.println("# of distinct words = " + words + ", each counted " + repetitions + " times");
+		System.out.println(String.format("%-10s %10s %8s %12s %14s %12s", "store", "ms", "GCs", "GC pause ms", "max pause ms", "heap MB"));
+		for (String store : STORES) { System.out.println(runStore(store, words, repetitions)); }
+	}
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * Helper method that measures one store in a new JVM
+	 * process, started with the same JVM options as this one.
+	 *
+	 * @return	the line of results printed by the process.
+	 *
+	 * @throws IOException	if the process cannot be started, or fails.
+	 */
+	private static String runStore(String store, int words, int repetitions) throws IOException, InterruptedException
+	{
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(VocabularyBenchmark.class.getName());
+		command.add(Integer.toString(words));
+		command.add(Integer.toString(repetitions));
+		command.add(store);
+
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		BufferedReader read = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		StringBuilder output = new StringBuilder();
+		String line;
+		while ((line = read.readLine()) != null) { output.append(line); }
+		read.close();
+
+		if (process.waitFor() != 0) { throw new IOException("Measuring " + store + " failed: " + output); }
+		return output.toString();
+	}
+
+
+	/**
+	 * Helper method that counts and sorts the made-up
+	 * words in one store, in this JVM, and prints the
+	 * measurements.
+	 */
+	private static void measure(String store, int words, int repetitions) throws IOException
+	{
+		watchCollections();
+		long start = System.nanoTime();
+		long heap;
+		long heapTime;
+		long checksum = 0;
+
+		if (store.equals("heap-map"))
+		{
+			Map<String, Integer> counts = new HashMap<String, Integer>();
+			for (int r = 0; r < repetitions; r++)
+			{
+				for (int i = 0; i < words; i++)
+				{
+					String word = makeWord(i);
+					Integer num = counts.get(word);
+					counts.put(word, (num == null) ? 1 : num + 1);
+				}
+			}
+			heapTime = System.nanoTime();
+			heap = usedHeap();
+			heapTime = System.nanoTime() - heapTime;
+
+			List<Entry<String, Integer>> sorted = new ArrayList<Entry<String, Integer>>(counts.entrySet());
+			sorted.sort((first, second) -> (first.getValue().equals(second.getValue()))
+					? first.getKey().compareTo(second.getKey()) : second.getValue().compareTo(first.getValue()));
+			for (Entry<String, Integer> entry : sorted) { checksum += entry.getKey().length(); }
+		}
+		else
+		{
+			File scratch = store.equals("mapped") ? File.createTempFile("vocabulary", ".bin") : null;
+			OffHeapVocabulary counts = (scratch == null) ? new OffHeapVocabulary() : new OffHeapVocabulary(scratch);
+			for (int r = 0; r < repetitions; r++)
+			{
+				for (int i = 0; i < words; i++) { counts.increment(makeWord(i)); }
+			}
+			heapTime = System.nanoTime();
+			heap = usedHeap();
+			heapTime = System.nanoTime() - heapTime;
+
+			Iterator<Entry<String, Long>> sorted = counts.sortedByFrequency();
+			while (sorted.hasNext()) { checksum += sorted.next().getKey().length(); }
+			counts.close();
+		}
+
+		long elapsed = (System.nanoTime() - start - heapTime) / 1000000;
+		if (checksum == 0 && words > 0) { throw new IllegalStateException(); }
+
+		// The forced collections of usedHeap() are not part of the measurement.
+		synchronized (VocabularyBenchmark.class)
+		{ System.out.println(String.format("%-10s %10d %8d %12d %14d %12.1f", store, elapsed, collections, totalPause, longestPause, heap / 1e6)); }
+	}
+
+
+	/**
+	 * Helper method that returns the made-up word with
+	 * a given number, e.g. user_2kq81z7bd.
+	 */
+	private static String makeWord(int number)
+	{
+		long bits = number * 0x9E3779B97F4A7C15L;
+		return "user_" + Long.toString((bits ^ (bits >>> 29)) & Long.MAX_VALUE, 36);
+	}
+
+
+	/**
+	 * Helper method that starts recording the number and
+	 * pauses of the garbage collections of this JVM.
+	 */
+	private static void watchCollections()
+	{
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+		{
+			((NotificationEmitter) collector).addNotificationListener((Notification notification, Object handback) ->
+			{
+				if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) { return; }
+
+				GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+				if (info.getGcCause().equals("System.gc()")) { return; }
+
+				synchronized (VocabularyBenchmark.class)
+				{
+					long pause = info.getGcInfo().getDuration();
+					collections++;
+					totalPause += pause;
+					longestPause = Math.max(longestPause, pause);
+				}
+			}, null, null);
+		}
+	}
+
+
+	/**
+	 * Helper method that returns the heap in use after a full collection.
+	 */
+	private static long usedHeap()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) { System.gc(); }
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -0,0 +1,293 @@
+package textProcess.compute;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class finds the paragraphs of a text that are near-duplicates
+ * of an earlier paragraph, e.g. reposted reviews, so they can be left 
+ * out of the text analysis.
+ * 
+ * Each paragraph is tokenized like the text analysis does, and a
+ * fixed-size MinHash signature is computed from its token shingles;
+ * signatures are computed on several worker threads. The signatures
+ * of kept paragraphs are then indexed with locality-sensitive hashing:
+ * each signature is cut into bands, and a paragraph is only compared
+ * with earlier paragraphs sharing one of its bands, so finding 
+ * duplicates takes close to linear rather than quadratic time. A 
+ * paragraph is a duplicate if its estimated similarity to such a 
+ * paragraph reaches the threshold; the first occurrence is kept.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class DuplicateDetector
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the default number of values in each signature.
+	public static final int DEFAULT_SIGNATURE_SIZE = 128;
+	
+	// Represents the default number of bands each signature is cut into.
+	public static final int DEFAULT_BANDS = 16;
+	
+	// Represents the default number of consecutive tokens in each shingle.
+	public static final int DEFAULT_SHINGLE_SIZE = 3;
+	
+	// Represents the default similarity at which paragraphs count as duplicates.
+	public static final double DEFAULT_THRESHOLD = 0.8;
+	
+	// Represents the number of paragraphs handed to a worker thread at a time.
+	private static final int PARAGRAPHS_PER_TASK = 64;
+	
+	// Represents the text processor whose tokenizer is used.
+	private final TextAnalyzer analyzer;
+	
+	// Represents the computer of paragraph signatures.
+	private final MinHasher hasher;
+	
+	// Represents the number of bands each signature is cut into.
+	private final int bands;
+	
+	// Represents the number of signature values in each band.
+	private final int rows;
+	
+	// Represents the similarity at which paragraphs count as duplicates.
+	private final double threshold;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class, using the default 
+	 * signature size, bands, shingle size and threshold.
+	 * 
+	 * @param analyzer	the text processor whose tokenizer is used.
+	 */
+	public DuplicateDetector(TextAnalyzer analyzer)
+	{
+		this(analyzer, DEFAULT_SIGNATURE_SIZE, DEFAULT_BANDS, DEFAULT_SHINGLE_SIZE, DEFAULT_THRESHOLD);
+	}
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param analyzer		the text processor whose tokenizer is used.
+	 * @param signatureSize	the number of values in each signature.
+	 * @param bands			the number of bands each signature is cut into; must divide the signature size.
+	 * @param shingleSize	the number of consecutive tokens in each shingle.
+	 * @param threshold		the similarity, from 0 to 1, at which paragraphs count as duplicates.
+	 * 
+	 * @throws IllegalArgumentException if the bands do not divide the signature, a size is not positive, or the threshold is not from 0 to 1.
+	 */
+	public DuplicateDetector(TextAnalyzer analyzer, int signatureSize, int bands, int shingleSize, double threshold) throws IllegalArgumentException
+	{
+		if (bands < 1 || signatureSize % bands != 0) 
+		{ throw new IllegalArgumentException("Number of Bands Must Divide the Signature Size"); }
+		if (!(threshold >= 0 && threshold <= 1)) 
+		{ throw new IllegalArgumentException("Similarity Threshold Must Be From 0 to 1: " + threshold); }
+		
+		this.analyzer = analyzer;
+		this.hasher = new MinHasher(signatureSize, shingleSize);
+		this.bands = bands;
+		this.rows = signatureSize / bands;
+		this.threshold = threshold;
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Finds the paragraphs of a stream of text data that are
+	 * near-duplicates of an earlier paragraph. A paragraph is a
+	 * run of non-blank lines, as in the text analysis.
+	 * 
+	 * @param textStream	the text data to be searched.
+	 * @param workers		the number of threads computing signatures.
+	 * 
+	 * @return	the positions, from 0, of the duplicate paragraphs.
+	 * 
+	 * @throws IOException	if an error occurs while reading the text, or the search is interrupted.
+	 * @throws IllegalArgumentException if the number of workers is not positive.
+	 */
+	public BitSet findDuplicates(BufferedReader textStream, int workers) throws IOException, IllegalArgumentException
+	{
+		if (workers < 1) { throw new IllegalArgumentException("Number of Workers Must Be Positive"); }
+		
+		List<Map<Long, List<int[]>>> bandIndex = new ArrayList<Map<Long, List<int[]>>>(bands);
+		for (int band = 0; band < bands; band++) { bandIndex.add(new HashMap<Long, List<int[]>>()); }
+		
+		BitSet duplicates = new BitSet();
+		int paragraphNumber = 0;
+		
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		Deque<Future<int[][]>> pending = new ArrayDeque<Future<int[][]>>();
+		
+		try
+		{
+			List<List<String>> batch = new ArrayList<List<String>>(PARAGRAPHS_PER_TASK);
+			List<String> paragraph = null;
+			String lineOfText;
+			
+			while (true)
+			{
+				lineOfText = textStream.readLine();
+				
+				// A blank line, or the end of the text, ends the current paragraph.
+				if (lineOfText == null || lineOfText.trim().length() == 0)
+				{
+					if (paragraph != null) { batch.add(paragraph); }
+					paragraph = null;
+					
+					if (batch.size() == PARAGRAPHS_PER_TASK || (lineOfText == null && !batch.isEmpty()))
+					{
+						pending.add(pool.submit(signParagraphs(batch)));
+						batch = new ArrayList<List<String>>(PARAGRAPHS_PER_TASK);
+					}
+					if (lineOfText == null) { break; }
+				}
+				else
+				{
+					if (paragraph == null) { paragraph = new ArrayList<String>(); }
+					paragraph.add(lineOfText);
+				}
+				
+				// Index finished batches in order, keeping only a few batches ahead of the index.
+				while (pending.size() > workers * 2)
+				{ paragraphNumber = indexSignatures(pending.poll().get(), paragraphNumber, bandIndex, duplicates); }
+			}
+			
+			while (!pending.isEmpty())
+			{ paragraphNumber = indexSignatures(pending.poll().get(), paragraphNumber, bandIndex, duplicates); }
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Duplicate Search Was Interrupted", e);
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException) { throw (RuntimeException) e.getCause(); }
+			throw new IOException("Error Searching the Input Text for Duplicates", e.getCause());
+		}
+		finally
+		{
+			pool.shutdownNow();
+			textStream.close();
+		}
+		
+		return duplicates;
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that builds the task computing the
+	 * signatures of a batch of paragraphs on a worker thread.
+	 * 
+	 * @param paragraphs	the lines of each paragraph.
+	 * 
+	 * @return	the task, which returns the signature of each paragraph.
+	 */
+	private Callable<int[][]> signParagraphs(List<List<String>> paragraphs)
+	{
+		return () ->
+		{
+			int[][] signatures = new int[paragraphs.size()][];
+			for (int i = 0; i < signatures.length; i++)
+			{
+				List<String> tokens = new ArrayList<String>();
+				for (String line : paragraphs.get(i)) { tokens.addAll(analyzer.tokenizeParagraph(line)); }
+				signatures[i] = hasher.signature(tokens);
+			}
+			return signatures;
+		};
+	}
+	
+	
+	/**
+	 * Helper method that checks each signature of a batch
+	 * against the signatures indexed so far, marking it as
+	 * a duplicate or else adding it to the index.
+	 * 
+	 * @param signatures		the signatures of the batch, in text order.
+	 * @param paragraphNumber	the position of the batch's first paragraph.
+	 * @param bandIndex			the signatures of kept paragraphs, by band and band hash.
+	 * @param duplicates		the positions of the duplicate paragraphs found so far.
+	 * 
+	 * @return	the position of the paragraph following the batch.
+	 */
+	private int indexSignatures(int[][] signatures, int paragraphNumber, List<Map<Long, List<int[]>>> bandIndex, BitSet duplicates)
+	{
+		for (int[] signature : signatures)
+		{
+			long[] bandHashes = new long[bands];
+			boolean duplicate = false;
+			
+			for (int band = 0; band < bands && !duplicate; band++)
+			{
+				bandHashes[band] = bandHash(signature, band);
+				List<int[]> candidates = bandIndex.get(band).get(bandHashes[band]);
+				if (candidates == null) { continue; }
+				
+				for (int[] candidate : candidates)
+				{
+					if (MinHasher.similarity(signature, candidate) >= threshold) 
+					{ 
+						duplicate = true;
+						break; 
+					}
+				}
+			}
+			
+			if (duplicate) { duplicates.set(paragraphNumber); }
+			else
+			{
+				for (int band = 0; band < bands; band++)
+				{
+					List<int[]> bucket = bandIndex.get(band).get(bandHashes[band]);
+					if (bucket == null)
+					{
+						bucket = new ArrayList<int[]>(1);
+						bandIndex.get(band).put(bandHashes[band], bucket);
+					}
+					bucket.add(signature);
+				}
+			}
+			paragraphNumber++;
+		}
+		return paragraphNumber;
+	}
+	
+	
+	/**
+	 * Helper method that hashes the values of
+	 * one band of a signature.
+	 */
+	private long bandHash(int[] signature, int band)
+	{
+		long hash = band;
+		for (int i = band * rows; i < (band + 1) * rows; i++) { hash = hash * 0x100000001B3L + signature[i]; }
+		return hash;
+	}
+	
+}
@@ -0,0 +1,120 @@
+package textProcess.compute;
+
+import java.util.Arrays;
+
+/**
+ * This class keeps the frequency-of-frequency spectrum
+ * of a vocabulary, i.e. how many word types occur once,
+ * twice, and so on, updated in constant time each time a
+ * type's frequency grows.
+ * 
+ * Zipf's law is fitted from the spectrum alone, as all
+ * the types sharing a frequency hold consecutive ranks,
+ * so the word-to-frequency mapping is never traversed.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class FrequencySpectrum
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the number of types with each frequency; index 0 is unused.
+	private int[] spectrum = new int[64];
+	
+	// Represents the highest frequency of any type.
+	private int maxFrequency;
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Records that one more occurrence of a type 
+	 * has been seen.
+	 * 
+	 * @param oldFrequency	the frequency of the type before this occurrence; 0 for a new type.
+	 */
+	public void increment(int oldFrequency)
+	{
+		int newFrequency = oldFrequency + 1;
+		if (newFrequency >= spectrum.length) { spectrum = Arrays.copyOf(spectrum, spectrum.length * 2); }
+		
+		if (oldFrequency > 0) { spectrum[oldFrequency]--; }
+		spectrum[newFrequency]++;
+		if (newFrequency > maxFrequency) { maxFrequency = newFrequency; }
+	}
+	
+	
+	/**
+	 * Records a type with a given frequency, for building
+	 * the spectrum of an already counted vocabulary.
+	 * 
+	 * @param frequency	the frequency of the type.
+	 */
+	public void add(int frequency)
+	{
+		if (frequency >= spectrum.length) { spectrum = Arrays.copyOf(spectrum, Math.max(spectrum.length * 2, frequency + 1)); }
+		
+		spectrum[frequency]++;
+		if (frequency > maxFrequency) { maxFrequency = frequency; }
+	}
+	
+	
+	/**
+	 * Returns the spectrum, where index f holds the number 
+	 * of types occurring f times and index 0 is unused.
+	 * 
+	 * @return a copy of the spectrum.
+	 */
+	public int[] toArray()
+	{ return Arrays.copyOf(spectrum, maxFrequency + 1); }
+	
+	
+	/**
+	 * Fits Zipf's law, log(frequency) = c - s * log(rank), by 
+	 * least squares over every type, ranking types by 
+	 * descending frequency.
+	 * 
+	 * @return	the exponent s, and the coefficient of determination
+	 * 			of the fit; both 0 if there are fewer than two types.
+	 */
+	public double[] fitZipf()
+	{
+		double n = 0, sumX = 0, sumY = 0, sumXX = 0, sumXY = 0, sumYY = 0;
+		
+		long rank = 0;
+		for (int frequency = maxFrequency; frequency > 0; frequency--)
+		{
+			int types = spectrum[frequency];
+			if (types == 0) { continue; }
+			
+			// Every type of this frequency shares y, so only the ranks need visiting.
+			double y = Math.log(frequency);
+			double groupX = 0, groupXX = 0;
+			for (int i = 0; i < types; i++)
+			{
+				double x = Math.log(++rank);
+				groupX += x;
+				groupXX += x * x;
+			}
+			n += types;
+			sumX += groupX;
+			sumXX += groupXX;
+			sumY += types * y;
+			sumYY += types * y * y;
+			sumXY += groupX * y;
+		}
+		
+		double varianceX = n * sumXX - sumX * sumX;
+		double varianceY = n * sumYY - sumY * sumY;
+		if (n < 2 || varianceX == 0) { return new double[] {0, 0}; }
+		
+		double covariance = n * sumXY - sumX * sumY;
+		double rSquared = (varianceY == 0) ? 0 : (covariance * covariance) / (varianceX * varianceY);
+		return new double[] {-covariance / varianceX, rSquared};
+	}
+	
+}
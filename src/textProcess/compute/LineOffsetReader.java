@@ -0,0 +1,329 @@
+package textProcess.compute;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+
+/**
+ * Reader of the lines of an encoded text file that also reports
+ * the byte offset, in the file, of each line and of any position
+ * within it, so the sentences of a line can be found again in
+ * the file (see SentenceReader).
+ *
+ * Lines are split on the bytes of their terminators (a line feed,
+ * a carriage return, or both) and offsets are counted from the bytes
+ * read, so they are exact for any charset in which those bytes only
+ * ever encode line terminators, such as UTF-8, US-ASCII and the
+ * ISO-8859 family. Malformed input is decoded to U+FFFD, as by a
+ * FileReader, and each replacement is mapped back to the bytes it
+ * replaced. Paragraphs left out of the analysis are skipped after
+ * their offsets are counted, so offsets always refer to the file.
+ *
+ * The file is read in blocks; this is a source of lines only, and
+ * not a Reader, so there is no way to read past the line offsets.
+ *
+ * @author David Olorundare
+ *
+ */
+public final class LineOffsetReader implements Closeable
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the number of bytes read from the file at a time.
+	private static final int BLOCK_SIZE = 1 << 16;
+
+	// Represents the encoded text file.
+	private final InputStream in;
+
+	// Represents the charset the file is encoded in.
+	private final Charset charset;
+
+	// Represents whether every character of the charset encodes to a single byte.
+	private final boolean singleByte;
+
+	// Represents the filter leaving out paragraphs, or null to keep them all.
+	private final ParagraphFilter paragraphs;
+
+	// Represents the block of the file last read, and the part of it not yet split into lines.
+	private final byte[] block = new byte[BLOCK_SIZE];
+	private int blockPosition;
+	private int blockLimit;
+
+	// Represents the byte offset in the file at which the block starts.
+	private long blockStart;
+
+	// Represents the bytes of the current line, without its terminator.
+	private byte[] lineBytes = new byte[256];
+	private int lineLength;
+
+	// Represents the current line, as decoded.
+	private String line;
+
+	// Represents the byte offset in the file at which the current line starts.
+	private long lineStart;
+
+	// Represents the byte offset within the line of each of its characters, or null if re-encoding gives them.
+	private int[] charOffsets;
+
+	// Represents the last position measured within the current line, in characters and in bytes.
+	private int measuredChars;
+	private int measuredBytes;
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Constructor of the class.
+	 *
+	 * @param in		the encoded text file, read from its start.
+	 * @param charset	the charset the file is encoded in.
+	 * @param excluded	the positions, from 0, of the paragraphs to leave out, or null to keep them all.
+	 */
+	public LineOffsetReader(InputStream in, Charset charset, BitSet excluded)
+	{
+		this.in = in;
+		this.charset = charset;
+		this.singleByte = charset.newEncoder().maxBytesPerChar() == 1.0f;
+		this.paragraphs = (excluded == null) ? null : new ParagraphFilter(excluded);
+	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	/**
+	 * Reads the next line of text that is not part of an excluded
+	 * paragraph, ended by a line feed, a carriage return, or a
+	 * carriage return followed by a line feed.
+	 *
+	 * @return the line without its terminator, or null at the end of the file.
+	 *
+	 * @throws IOException if an error occurs while reading the file.
+	 */
+	public String readLine() throws IOException
+	{
+		while (readLineBytes())
+		{
+			decodeLine();
+			if (paragraphs == null || paragraphs.keep(line)) { return line; }
+		}
+		line = null;
+		return null;
+	}
+
+
+	/**
+	 * Helper method that returns the byte offset at which
+	 * the line last returned by readLine() starts.
+	 *
+	 * @return the byte offset of the current line.
+	 */
+	public long getLineStart()
+	{ return lineStart; }
+
+
+	/**
+	 * Returns the byte offset in the file of a position
+	 * within the line last returned by readLine().
+	 * Positions are cheapest to measure in increasing order.
+	 *
+	 * @param charIndex	the position within the line, in characters, from 0 to its length.
+	 *
+	 * @return the byte offset of the position.
+	 *
+	 * @throws IndexOutOfBoundsException if the position is not within the line.
+	 */
+	public long getOffset(int charIndex) throws IndexOutOfBoundsException
+	{
+		if (charIndex < 0 || charIndex > line.length())
+		{ throw new IndexOutOfBoundsException("Position " + charIndex + " Is Not Within the Line"); }
+
+		if (charOffsets != null) { return lineStart + charOffsets[charIndex]; }
+
+		if (charIndex < measuredChars)
+		{
+			measuredChars = 0;
+			measuredBytes = 0;
+		}
+		measuredBytes += encodedLength(measuredChars, charIndex);
+		measuredChars = charIndex;
+		return lineStart + measuredBytes;
+	}
+
+
+	/**
+	 * Closes the file.
+	 *
+	 * @throws IOException if an error occurs while closing the file.
+	 */
+	@Override
+	public void close() throws IOException
+	{ in.close(); }
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * Helper method that copies the bytes of the next line
+	 * of the file into lineBytes, consuming its terminator.
+	 *
+	 * @return	whether there was another line.
+	 *
+	 * @throws IOException if an error occurs while reading the file.
+	 */
+	private boolean readLineBytes() throws IOException
+	{
+		lineLength = 0;
+		if (blockPosition == blockLimit && !readBlock()) { return false; }
+		lineStart = blockStart + blockPosition;
+
+		while (true)
+		{
+			// Copy up to the next terminator in the block, if there is one.
+			int end = blockPosition;
+			while (end < blockLimit && block[end] != '\n' && block[end] != '\r') { end++; }
+			appendLineBytes(end - blockPosition);
+			blockPosition = end;
+
+			if (end < blockLimit)
+			{
+				blockPosition++;
+				if (block[end] == '\r' && (blockPosition < blockLimit || readBlock()) && block[blockPosition] == '\n') { blockPosition++; }
+				return true;
+			}
+			if (!readBlock()) { return true; }
+		}
+	}
+
+
+	/**
+	 * Helper method that reads the next block of the file.
+	 *
+	 * @return	whether any bytes were read, or false at the end of the file.
+	 *
+	 * @throws IOException if an error occurs while reading the file.
+	 */
+	private boolean readBlock() throws IOException
+	{
+		blockStart += blockLimit;
+		blockPosition = 0;
+		blockLimit = 0;
+
+		int read = in.read(block);
+		if (read < 0) { return false; }
+		blockLimit = read;
+		return true;
+	}
+
+
+	/**
+	 * Helper method that appends bytes from the
+	 * current block to the bytes of the line.
+	 */
+	private void appendLineBytes(int length)
+	{
+		if (lineLength + length > lineBytes.length)
+		{
+			byte[] larger = new byte[Math.max(lineBytes.length * 2, lineLength + length)];
+			System.arraycopy(lineBytes, 0, larger, 0, lineLength);
+			lineBytes = larger;
+		}
+		System.arraycopy(block, blockPosition, lineBytes, lineLength, length);
+		lineLength += length;
+	}
+
+
+	/**
+	 * Helper method that decodes the bytes of the current line.
+	 * Unless the charset has one byte per character, a line holding
+	 * a replacement character (e.g. for malformed input) or whose
+	 * re-encoding is not its length has the offset of each of its
+	 * characters worked out while decoding instead.
+	 */
+	private void decodeLine()
+	{
+		line = new String(lineBytes, 0, lineLength, charset);
+		measuredChars = 0;
+		measuredBytes = 0;
+		charOffsets = null;
+
+		if (!singleByte && (line.indexOf('\uFFFD') >= 0 || encodedLength(0, line.length()) != lineLength)) { mapCharOffsets(); }
+	}
+
+
+	/**
+	 * Helper method that decodes the current line a character at
+	 * a time, recording the byte at which each character starts.
+	 */
+	private void mapCharOffsets()
+	{
+		CharsetDecoder decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		ByteBuffer bytes = ByteBuffer.wrap(lineBytes, 0, lineLength);
+		CharBuffer chars = CharBuffer.allocate((int) (lineLength * (double) decoder.maxCharsPerByte()) + 2);
+		int[] offsets = new int[chars.capacity() + 1];
+
+		while (bytes.hasRemaining())
+		{
+			int start = bytes.position();
+			int decoded = chars.position();
+
+			// Leave room for one character, or two for a surrogate pair.
+			chars.limit(decoded + 1);
+			decoder.decode(bytes, chars, true);
+			if (chars.position() == decoded && bytes.position() == start)
+			{
+				chars.limit(decoded + 2);
+				decoder.decode(bytes, chars, true);
+			}
+			if (chars.position() == decoded && bytes.position() == start) { break; }
+
+			for (int i = decoded; i < chars.position(); i++) { offsets[i] = start; }
+		}
+		chars.limit(chars.capacity());
+		decoder.flush(chars);
+
+		offsets[chars.position()] = lineLength;
+		line = new String(chars.array(), 0, chars.position());
+		charOffsets = offsets;
+	}
+
+
+	/**
+	 * Helper method that returns the number of bytes part
+	 * of the current line takes up in the file's charset.
+	 */
+	private int encodedLength(int start, int end)
+	{
+		if (singleByte) { return end - start; }
+		if (!charset.equals(StandardCharsets.UTF_8)) { return line.substring(start, end).getBytes(charset).length; }
+
+		int length = 0;
+		for (int i = start; i < end; i++)
+		{
+			char c = line.charAt(i);
+			if (c < 0x80) { length += 1; }
+			else if (c < 0x800) { length += 2; }
+			else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(line.charAt(i + 1)))
+			{
+				length += 4;
+				i++;
+			}
+			else { length += 3; }
+		}
+		return length;
+	}
+
+}
@@ -0,0 +1,154 @@
+package textProcess.compute;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * This class computes MinHash signatures of documents
+ * from the shingles (runs of consecutive tokens) of their
+ * word-tokens. The fraction of positions at which two
+ * signatures agree estimates the Jaccard similarity of the
+ * two documents' shingle sets.
+ * 
+ * Each of the signature's hash functions is a multiply-add
+ * of a 64-bit shingle hash with its own random odd multiplier, 
+ * keeping the top 31 bits, so a signature costs one hash per 
+ * shingle plus one multiply-add per shingle and function.
+ * Instances are safe to use from several threads at once.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class MinHasher
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the seed of the hash functions, fixed so signatures are reproducible.
+	private static final long SEED = 0x5DEECE66DL;
+	
+	// Represents the number of tokens in each shingle.
+	private final int shingleSize;
+	
+	// Represents the multiplier of each hash function.
+	private final long[] multipliers;
+	
+	// Represents the increment of each hash function.
+	private final long[] increments;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param signatureSize	the number of hash functions, i.e. values in each signature.
+	 * @param shingleSize	the number of consecutive tokens in each shingle.
+	 * 
+	 * @throws IllegalArgumentException if either size is not positive.
+	 */
+	public MinHasher(int signatureSize, int shingleSize) throws IllegalArgumentException
+	{
+		if (signatureSize < 1 || shingleSize < 1) { throw new IllegalArgumentException("Signature and Shingle Sizes Must Be Positive"); }
+		
+		this.shingleSize = shingleSize;
+		this.multipliers = new long[signatureSize];
+		this.increments = new long[signatureSize];
+		
+		SplittableRandom random = new SplittableRandom(SEED);
+		for (int i = 0; i < signatureSize; i++)
+		{
+			multipliers[i] = random.nextLong() | 1;
+			increments[i] = random.nextLong();
+		}
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Computes the MinHash signature of a document. Tokens
+	 * are compared ignoring case; a document with fewer tokens
+	 * than a shingle is treated as a single shingle.
+	 * 
+	 * @param tokens	the word-tokens of the document.
+	 * 
+	 * @return	the signature of the document.
+	 */
+	public int[] signature(List<String> tokens)
+	{
+		int[] signature = new int[multipliers.length];
+		Arrays.fill(signature, Integer.MAX_VALUE);
+		
+		long[] tokenHashes = new long[tokens.size()];
+		for (int i = 0; i < tokenHashes.length; i++) { tokenHashes[i] = tokens.get(i).toLowerCase(Locale.ROOT).hashCode(); }
+		
+		int shingles = Math.max(1, tokenHashes.length - shingleSize + 1);
+		for (int start = 0; start < shingles; start++)
+		{
+			long shingle = 0;
+			for (int i = start; i < Math.min(start + shingleSize, tokenHashes.length); i++)
+			{
+				shingle = mix(shingle * 0x9E3779B97F4A7C15L + tokenHashes[i]);
+			}
+			
+			for (int i = 0; i < signature.length; i++)
+			{
+				int value = (int) ((multipliers[i] * shingle + increments[i]) >>> 33);
+				if (value < signature[i]) { signature[i] = value; }
+			}
+		}
+		return signature;
+	}
+	
+	
+	/**
+	 * Helper method that returns the size of the
+	 * signatures computed.
+	 * 
+	 * @return the number of values in a signature.
+	 */
+	public int getSignatureSize()
+	{ return multipliers.length; }
+	
+	
+	/**
+	 * Returns the fraction of positions at which two 
+	 * signatures agree, which estimates the Jaccard 
+	 * similarity of their documents.
+	 * 
+	 * @param first		a signature.
+	 * @param second	another signature of the same size.
+	 * 
+	 * @return the estimated similarity, from 0 to 1.
+	 */
+	public static double similarity(int[] first, int[] second)
+	{
+		int same = 0;
+		for (int i = 0; i < first.length; i++) { if (first[i] == second[i]) { same++; } }
+		return (double) same / first.length;
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that scrambles the bits of a 
+	 * 64-bit value (the MurmurHash3 finalizer).
+	 */
+	private static long mix(long value)
+	{
+		value ^= value >>> 33;
+		value *= 0xFF51AFD7ED558CCDL;
+		value ^= value >>> 33;
+		value *= 0xC4CEB9FE1A85EC53L;
+		return value ^ (value >>> 33);
+	}
+	
+}
@@ -0,0 +1,387 @@
+package textProcess.compute;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class computes the moving-average type-token
+ * ratio (MATTR) of a stream of word-tokens: the average,
+ * over every window of a fixed number of consecutive 
+ * tokens, of the number of distinct words in the window
+ * divided by the window size.
+ * 
+ * The current window is kept in a ring buffer of words,
+ * and the number of times each occurs in it in a small
+ * open-addressing table holding only the window's words,
+ * so each token costs O(1) whatever the window size, and
+ * no map of the whole vocabulary is needed.
+ * 
+ * The first and last (window size - 1) words of the stream 
+ * are also kept, so instances over consecutive parts of a 
+ * text (e.g. the batches of a parallel analysis, or the shards
+ * of a sharded one) can be merged in text order into exactly
+ * the result over the whole text, counting the windows which 
+ * span the parts when they are merged.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class MovingTypeTokenRatio
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the window size used when none is given.
+	public static final int DEFAULT_WINDOW_SIZE = 500;
+	
+	// Represents the words of the current window, as a ring buffer.
+	private final String[] window;
+	
+	// Represents the distinct words of the current window, in an open-addressing table, and the number of times each occurs in it.
+	private final String[] windowWords;
+	private final int[] windowCounts;
+	
+	// Represents the number of distinct words in the current window.
+	private int distinct;
+	
+	// Represents the number of tokens seen.
+	private long tokens;
+	
+	// Represents the position in the ring buffer of the next token.
+	private int next;
+	
+	// Represents the number of complete windows seen.
+	private long windows;
+	
+	// Represents the sum of the number of distinct tokens over all complete windows.
+	private long distinctTotal;
+	
+	// Represents the first (window size - 1) words of the stream.
+	private final String[] head;
+	
+	// Represents the last (window size - 1) words of the stream, as a ring buffer.
+	private final String[] tail;
+	
+	// Represents the position in the tail ring buffer of the next word.
+	private int tailNext;
+	
+	// Represents whether other instances have been merged into this one, after which tokens cannot be added.
+	private boolean merged;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param windowSize	the number of consecutive tokens in each window.
+	 * 
+	 * @throws IllegalArgumentException if the window size is not positive.
+	 */
+	public MovingTypeTokenRatio(int windowSize) throws IllegalArgumentException
+	{
+		if (windowSize < 1) { throw new IllegalArgumentException("Window Size Must Be Positive"); }
+		window = new String[windowSize];
+		
+		// At most half full, so probe sequences stay short.
+		int slots = Integer.highestOneBit(windowSize) << 2;
+		windowWords = new String[slots];
+		windowCounts = new int[slots];
+		
+		head = new String[windowSize - 1];
+		tail = new String[windowSize - 1];
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Adds the next token of the stream.
+	 * 
+	 * @param word	the word of the token.
+	 * 
+	 * @throws IllegalStateException if other instances have been merged into this one.
+	 */
+	public void add(String word) throws IllegalStateException
+	{
+		if (merged) { throw new IllegalStateException("Tokens Cannot Be Added After Merging"); }
+		
+		// Once the window is full, the oldest token leaves it.
+		if (tokens >= window.length) { leaveWindow(window[next]); }
+		
+		int slot = slotOf(word);
+		if (windowWords[slot] == null)
+		{
+			windowWords[slot] = word;
+			distinct++;
+		}
+		windowCounts[slot]++;
+		window[next] = word;
+		next = (next + 1 == window.length) ? 0 : next + 1;
+		
+		if (tail.length > 0)
+		{
+			if (tokens < head.length) { head[(int) tokens] = word; }
+			tail[tailNext] = word;
+			tailNext = (tailNext + 1 == tail.length) ? 0 : tailNext + 1;
+		}
+		tokens++;
+		
+		if (tokens >= window.length)
+		{
+			windows++;
+			distinctTotal += distinct;
+		}
+	}
+	
+	
+	/**
+	 * Adds the windows seen by another instance, over the
+	 * tokens following this instance's tokens in the text,
+	 * into this one, along with the windows spanning the 
+	 * end of this instance's tokens and the start of the 
+	 * other's. Instances must be merged in text order.
+	 * 
+	 * @param other	the instance to add; it must use the same window size.
+	 * 
+	 * @throws IllegalArgumentException if the window sizes differ.
+	 */
+	public void merge(MovingTypeTokenRatio other) throws IllegalArgumentException
+	{
+		if (other.window.length != window.length) { throw new IllegalArgumentException("Window Sizes Must Be the Same"); }
+		
+		String[] before = getTail();
+		String[] after = other.getHead();
+		
+		// Every complete window of the joined words holds words of both instances.
+		String[] joined = Arrays.copyOf(before, before.length + after.length);
+		System.arraycopy(after, 0, joined, before.length, after.length);
+		Map<String, Integer> counts = new HashMap<String, Integer>();
+		int joinedDistinct = 0;
+		for (int i = 0; i < joined.length; i++)
+		{
+			Integer count = counts.get(joined[i]);
+			if (count == null) { joinedDistinct++; }
+			counts.put(joined[i], (count == null) ? 1 : count + 1);
+			
+			if (i >= window.length)
+			{
+				int left = counts.get(joined[i - window.length]) - 1;
+				if (left == 0) 
+				{ 
+					counts.remove(joined[i - window.length]);
+					joinedDistinct--;
+				}
+				else { counts.put(joined[i - window.length], left); }
+			}
+			if (i >= window.length - 1)
+			{
+				windows++;
+				distinctTotal += joinedDistinct;
+			}
+		}
+		windows += other.windows;
+		distinctTotal += other.distinctTotal;
+		
+		// The head grows until it is full, and the tail keeps the last words of both.
+		for (int i = 0; tokens + i < head.length && i < after.length; i++) { head[(int) tokens + i] = after[i]; }
+		String[] last = other.getTail();
+		for (int i = Math.max(0, before.length + last.length - tail.length); i < before.length; i++) { appendTail(before[i]); }
+		for (String word : last) { appendTail(word); }
+		
+		tokens += other.tokens;
+		merged = true;
+	}
+	
+	
+	/**
+	 * Writes this instance's windows and the words
+	 * needed to merge it with others.
+	 * 
+	 * @param out	the output to write to.
+	 * 
+	 * @throws IOException	if an error occurs while writing.
+	 */
+	public void writeTo(DataOutput out) throws IOException
+	{
+		out.writeInt(window.length);
+		out.writeLong(tokens);
+		out.writeLong(windows);
+		out.writeLong(distinctTotal);
+		
+		String[] first = getHead();
+		String[] last = getTail();
+		out.writeInt(first.length);
+		for (String word : first) { writeWord(out, word); }
+		out.writeInt(last.length);
+		for (String word : last) { writeWord(out, word); }
+	}
+	
+	
+	/**
+	 * Reads an instance written by writeTo(). Other instances 
+	 * can be merged into it, but tokens cannot be added to it.
+	 * 
+	 * @param in	the input to read from.
+	 * 
+	 * @return	the instance read.
+	 * 
+	 * @throws IOException	if an error occurs while reading.
+	 */
+	public static MovingTypeTokenRatio readFrom(DataInput in) throws IOException
+	{
+		MovingTypeTokenRatio read = new MovingTypeTokenRatio(in.readInt());
+		read.tokens = in.readLong();
+		read.windows = in.readLong();
+		read.distinctTotal = in.readLong();
+		
+		int first = in.readInt();
+		for (int i = 0; i < first; i++) { read.head[i] = readWord(in); }
+		int last = in.readInt();
+		for (int i = 0; i < last; i++) { read.appendTail(readWord(in)); }
+		
+		read.merged = true;
+		return read;
+	}
+	
+	
+	/**
+	 * Returns the average type-token ratio over all windows.
+	 * 
+	 * @param typeTokenRatio	the value to return if no window is complete.
+	 * 
+	 * @return the moving-average type-token ratio.
+	 */
+	public double getAverage(double typeTokenRatio)
+	{ return (windows == 0) ? typeTokenRatio : (double) distinctTotal / ((double) windows * window.length); }
+	
+	
+	/**
+	 * Returns the number of tokens in each window.
+	 * 
+	 * @return the window size.
+	 */
+	public int getWindowSize()
+	{ return window.length; }
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that returns the slot of the window
+	 * table holding a word, or the empty slot it would take.
+	 */
+	private int slotOf(String word)
+	{
+		int mask = windowWords.length - 1;
+		int slot = spread(word.hashCode()) & mask;
+		while (windowWords[slot] != null && !windowWords[slot].equals(word)) { slot = (slot + 1) & mask; }
+		return slot;
+	}
+	
+	
+	/**
+	 * Helper method that removes one occurrence of a word
+	 * from the window table, emptying its slot when none is
+	 * left and shifting back the words probed past it.
+	 */
+	private void leaveWindow(String word)
+	{
+		int slot = slotOf(word);
+		if (--windowCounts[slot] > 0) { return; }
+		
+		distinct--;
+		windowWords[slot] = null;
+		int mask = windowWords.length - 1;
+		for (int probe = (slot + 1) & mask; windowWords[probe] != null; probe = (probe + 1) & mask)
+		{
+			// A word may move back into the emptied slot unless its home lies after the slot, up to where it is.
+			int home = spread(windowWords[probe].hashCode()) & mask;
+			boolean stays = (slot <= probe) ? (slot < home && home <= probe) : (slot < home || home <= probe);
+			if (stays) { continue; }
+			
+			windowWords[slot] = windowWords[probe];
+			windowCounts[slot] = windowCounts[probe];
+			windowWords[probe] = null;
+			windowCounts[probe] = 0;
+			slot = probe;
+		}
+	}
+	
+	
+	/**
+	 * Helper method that mixes the bits of a hash code,
+	 * so words are spread over the window table.
+	 */
+	private static int spread(int hash)
+	{
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+	
+	
+	/**
+	 * Helper method that returns the first words of 
+	 * the stream, up to (window size - 1) of them.
+	 */
+	private String[] getHead()
+	{ return Arrays.copyOf(head, (int) Math.min(tokens, head.length)); }
+	
+	
+	/**
+	 * Helper method that returns the last words of the
+	 * stream, up to (window size - 1) of them, in order.
+	 */
+	private String[] getTail()
+	{
+		int size = (int) Math.min(tokens, tail.length);
+		String[] last = new String[size];
+		for (int i = 0; i < size; i++) { last[i] = tail[Math.floorMod(tailNext - size + i, tail.length)]; }
+		return last;
+	}
+	
+	
+	/**
+	 * Helper method that adds a word to the end 
+	 * of the tail ring buffer.
+	 */
+	private void appendTail(String word)
+	{
+		tail[tailNext] = word;
+		tailNext = (tailNext + 1 == tail.length) ? 0 : tailNext + 1;
+	}
+	
+	
+	/**
+	 * Helper method that writes a word as 
+	 * length-prefixed UTF-8.
+	 */
+	private static void writeWord(DataOutput out, String word) throws IOException
+	{
+		byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+	
+	
+	/**
+	 * Helper method that reads a word written 
+	 * by writeWord().
+	 */
+	private static String readWord(DataInput in) throws IOException
+	{
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+}
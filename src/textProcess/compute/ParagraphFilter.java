@@ -0,0 +1,87 @@
+package textProcess.compute;
+
+import java.util.BitSet;
+
+/**
+ * This class decides, line by line, which lines of a text
+ * are kept when the given paragraphs are left out, e.g. the
+ * duplicates found by a DuplicateDetector. A paragraph is a run
+ * of non-blank lines, numbered from 0 in text order; an excluded
+ * paragraph is dropped along with the blank line that ends it, so
+ * the text reads as though the paragraph had never been there.
+ *
+ * @author David Olorundare
+ *
+ */
+public final class ParagraphFilter
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the positions of the paragraphs to leave out.
+	private final BitSet excluded;
+
+	// Represents the position of the current (or next) paragraph.
+	private int paragraphNumber = 0;
+
+	// Represents whether the last line seen was part of a paragraph.
+	private boolean inParagraph = false;
+
+	// Represents whether the current paragraph is being left out.
+	private boolean skipping = false;
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Constructor of the class.
+	 *
+	 * @param excluded	the positions, from 0, of the paragraphs to leave out.
+	 */
+	public ParagraphFilter(BitSet excluded)
+	{
+		this.excluded = excluded;
+	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	/**
+	 * Checks whether the next line of the text is kept.
+	 * Every line of the text must be passed in, in order.
+	 *
+	 * @param lineOfText	the next line of the text.
+	 *
+	 * @return	whether the line is kept.
+	 */
+	public boolean keep(String lineOfText)
+	{
+		if (lineOfText.trim().length() == 0)
+		{
+			if (inParagraph)
+			{
+				inParagraph = false;
+				paragraphNumber++;
+
+				// Drop the blank line ending an excluded paragraph.
+				if (skipping)
+				{
+					skipping = false;
+					return false;
+				}
+			}
+			return true;
+		}
+
+		if (!inParagraph)
+		{
+			inParagraph = true;
+			skipping = excluded.get(paragraphNumber);
+		}
+		return !skipping;
+	}
+
+}
@@ -0,0 +1,95 @@
+package textProcess.compute;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.BitSet;
+
+/**
+ * Reader of text that leaves out the given paragraphs, e.g. the
+ * duplicates found by a DuplicateDetector, as a ParagraphFilter does.
+ *
+ * The paragraphs are left out by the stream this reader buffers,
+ * which yields only the kept lines, each ended by a line feed, so
+ * every way of reading it (by line, by character, as a stream of lines,
+ * or by skipping) sees the same text without the paragraphs.
+ *
+ * @author David Olorundare
+ *
+ */
+public final class ParagraphSkippingReader extends BufferedReader
+{
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Constructor of the class.
+	 *
+	 * @param in		the stream of text data.
+	 * @param excluded	the positions, from 0, of the paragraphs to leave out.
+	 */
+	public ParagraphSkippingReader(Reader in, BitSet excluded)
+	{
+		super(new KeptLines(in, excluded));
+	}
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * A stream of the lines of a text that are kept
+	 * when the given paragraphs are left out.
+	 */
+	private static final class KeptLines extends Reader
+	{
+		// Represents the lines of the text.
+		private final BufferedReader lines;
+
+		// Represents the filter deciding which lines are kept.
+		private final ParagraphFilter paragraphs;
+
+		// Represents the kept line being read, with its line feed, and the position reached in it.
+		private String line = "";
+		private int position = 0;
+
+		KeptLines(Reader in, BitSet excluded)
+		{
+			this.lines = (in instanceof BufferedReader) ? (BufferedReader) in : new BufferedReader(in);
+			this.paragraphs = new ParagraphFilter(excluded);
+		}
+
+		@Override
+		public int read(char[] buffer, int offset, int length) throws IOException
+		{
+			if (length == 0) { return 0; }
+
+			// Move on to the next kept line once this one is used up.
+			while (position == line.length())
+			{
+				String next = lines.readLine();
+				if (next == null) { return -1; }
+				if (paragraphs.keep(next))
+				{
+					line = next + '\n';
+					position = 0;
+				}
+			}
+
+			int count = Math.min(length, line.length() - position);
+			line.getChars(position, position + count, buffer, offset);
+			position += count;
+			return count;
+		}
+
+		@Override
+		public boolean ready() throws IOException
+		{ return position < line.length() || lines.ready(); }
+
+		@Override
+		public void close() throws IOException
+		{ lines.close(); }
+	}
+
+}
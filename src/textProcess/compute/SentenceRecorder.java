@@ -0,0 +1,116 @@
+package textProcess.compute;
+
+import java.util.List;
+import textProcess.structures.AnalyzedData;
+import textProcess.structures.Histogram;
+import textProcess.structures.SentenceIndex;
+
+/**
+ * This class records per-sentence statistics while
+ * a text is analyzed: where each sentence lies in the
+ * source file and how many tokens it has, plus histograms
+ * of sentence, paragraph and token lengths.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class SentenceRecorder
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the index of the sentences recorded.
+	private final SentenceIndex index = new SentenceIndex();
+	
+	// Represents the number of tokens in each sentence.
+	private final Histogram sentenceLengths = new Histogram();
+	
+	// Represents the number of sentences in each paragraph.
+	private final Histogram paragraphLengths = new Histogram();
+	
+	// Represents the number of characters in each token.
+	private final Histogram tokenLengths = new Histogram();
+	
+	// Represents the reader of the text, which measures the byte offsets.
+	private final LineOffsetReader lines;
+	
+	// Represents the position, in characters within the current line, at which the next sentence starts.
+	private int nextSentenceStart;
+	
+	// Represents the number of sentences in the current paragraph.
+	private int paragraphSentences;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param lines	the reader of the text being analyzed.
+	 */
+	public SentenceRecorder(LineOffsetReader lines)
+	{
+		this.lines = lines;
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Records the start of the line last read,
+	 * whose sentences are recorded next.
+	 */
+	public void startLine()
+	{ nextSentenceStart = 0; }
+	
+	
+	/**
+	 * Records the next sentence of the current line. The 
+	 * sentences of a line must be recorded in order and 
+	 * together cover the whole line.
+	 * 
+	 * @param sentence	the sentence, as it appears in the text.
+	 * @param tokens	the tokens of the sentence.
+	 * 
+	 * @throws IllegalStateException if the sentence index has no room for another sentence.
+	 */
+	public void addSentence(String sentence, List<String> tokens) throws IllegalStateException
+	{
+		long start = lines.getOffset(nextSentenceStart);
+		nextSentenceStart += sentence.length();
+		index.add(start, (int) (lines.getOffset(nextSentenceStart) - start), tokens.size());
+		
+		sentenceLengths.add(tokens.size());
+		for (String token : tokens) { tokenLengths.add(token.length()); }
+		paragraphSentences++;
+	}
+	
+	
+	/**
+	 * Records the end of a paragraph.
+	 */
+	public void endParagraph()
+	{
+		if (paragraphSentences > 0) { paragraphLengths.add(paragraphSentences); }
+		paragraphSentences = 0;
+	}
+	
+	
+	/**
+	 * Stores the recorded index and histograms
+	 * into the results of the text analysis.
+	 * 
+	 * @param results	the structure holding the results of the text analysis.
+	 */
+	public void storeInto(AnalyzedData results)
+	{
+		results.setSentenceIndex(index);
+		results.setSentenceLengths(sentenceLengths);
+		results.setParagraphLengths(paragraphLengths);
+		results.setTokenLengths(tokenLengths);
+	}
+	
+}
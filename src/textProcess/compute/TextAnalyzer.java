@@ -2,16 +2,25 @@ package textProcess.compute;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.text.BreakIterator;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.PatternSyntaxException;
+import textProcess.language.LanguageProvider;
+import textProcess.language.Languages;
 import textProcess.structures.AnalyzedData;
+import textProcess.structures.CountingStrategy;
+import textProcess.structures.OffHeapVocabulary;
+import textProcess.structures.WordCounter;
 
 
 /**
@@ -19,9 +28,9 @@ import textProcess.structures.AnalyzedData;
  * operations on a given input text data.
  * It has methods for performing paragraph, 
  * sentence, and word analysis using the built-in 
- * Java BufferedReader readline() method, built-in
- * Java BreakIterator Sentence segementation method,
- * and Java Regex methods, respectively.
+ * Java BufferedReader readline() method, and the
+ * sentence segmenter, contraction expander and 
+ * tokenizer of the chosen language, respectively.
  * 
  * @author David Olorundare
  *
@@ -35,21 +44,21 @@ public final class TextAnalyzer
 	// Represents an instance to this class.
 	private volatile static TextAnalyzer instance;
 
+	// Represents the default number of lines handed to a worker thread at a time in parallel analysis.
+	public static final int DEFAULT_LINES_PER_TASK = 256;
+
+	// Represents the number of lines handed to a worker thread at a time in parallel analysis.
+	private volatile int linesPerTask = DEFAULT_LINES_PER_TASK;
+
+	// Represents the language whose segmentation, tokenization and contraction rules are used.
+	private volatile LanguageProvider language = Languages.getDefault();
+
 	// Represents a buffer holding the input text data in a stream.
 	private BufferedReader inputData;
 	
 	// Represents a list of sentences in a given paragraph.
 	private List<String> sentences;
 	
-	// Represents a temporary store of the current text paragraph being processed.
-	private String tempParagraph;
-	
-	// Represents the current sentence in a paragraph being segmented.
-	int currSentenceIndex = 0;
-	
-	// Represents the previous sentence in a paragraph that was segmented.
- 	int prevSentenceIndex = 0;
- 	
  	// Represents the number of tokens in the analyzed text.
  	int tokenCount = 0;
  	
@@ -66,6 +75,12 @@ public final class TextAnalyzer
  	// Represents a mapping between each distinct word (types) in the analyzed text and their frequency.
  	Map<String, Integer> typeCount = new HashMap<String, Integer>();
  	
+ 	// Represents the recorder of per-sentence statistics for the text being analyzed, if they are recorded.
+ 	private SentenceRecorder sentenceRecorder;
+ 	
+ 	// Represents the vocabulary statistics of the analyzed text, updated as words are counted.
+ 	VocabularyTracker vocabulary = new VocabularyTracker(MovingTypeTokenRatio.DEFAULT_WINDOW_SIZE);
+ 	
  	//Represents statistics about the text analyzed in this session.
  	AnalyzedData resultStats = new AnalyzedData();
  	
@@ -106,6 +121,73 @@ public final class TextAnalyzer
 	//============================================ PUBLIC METHODS =============================================================
 	
 	
+	/**
+	 * Helper method that sets the language whose
+	 * sentence segmentation, tokenization and
+	 * contraction rules are used in text analysis.
+	 * 
+	 * @param value	the language provider to use.
+	 */
+	public void setLanguage(LanguageProvider value)
+	{ language = value; }
+	
+	
+	/**
+	 * Helper method that returns the language
+	 * used in text analysis.
+	 * 
+	 * @return the language provider in use.
+	 */
+	public LanguageProvider getLanguage()
+	{ return language; }
+	
+	
+	/**
+	 * Helper method that sets the number of lines handed
+	 * to a worker thread at a time in parallel analysis;
+	 * larger batches cost less to hand over, smaller ones
+	 * spread short texts more evenly across the workers.
+	 * 
+	 * @param value	the number of lines in each batch.
+	 * 
+	 * @throws IllegalArgumentException if the number of lines is not positive.
+	 */
+	public void setLinesPerTask(int value) throws IllegalArgumentException
+	{
+		if (value < 1) { throw new IllegalArgumentException("Number of Lines per Task Must Be Positive"); }
+		linesPerTask = value;
+	}
+	
+	
+	/**
+	 * Helper method that returns the moving-average type-token
+	 * ratio of the text analyzed by analyzeText() so far, which
+	 * can be merged with that of the text following it (e.g. by
+	 * the worker analyzing one shard of a text).
+	 * 
+	 * @return the moving-average type-token ratio.
+	 */
+	public MovingTypeTokenRatio getMovingTypeTokenRatio()
+	{ return vocabulary.getMovingTypeTokenRatio(); }
+	
+	
+	/**
+	 * Clears the counts of the text analyzed by analyzeText()
+	 * so far, so the next text is analyzed on its own. The
+	 * language and other settings are kept.
+	 */
+	public void reset()
+	{
+		tokenCount = 0;
+		paragraphCount = 0;
+		sentenceCount = 0;
+		wordCount = new HashMap<String, Integer>();
+		typeCount = new HashMap<String, Integer>();
+		vocabulary = new VocabularyTracker(MovingTypeTokenRatio.DEFAULT_WINDOW_SIZE);
+		resultStats = new AnalyzedData();
+	}
+	
+	
 	/**
 	 * Performs text analysis on a stream of text  data.
 	 * 
@@ -150,12 +232,229 @@ public final class TextAnalyzer
 		
 		// Populate the AnalysisData structure with Paragraph, Sentence, and Word count-info.
 		resultStats.setNumberOfParagraphs(paragraphCount);
+		resultStats.setVocabularyStatistics(vocabulary.toStatistics());
 		
 		// Return results of text analysis.
 		return resultStats;
 	}
 	
 	
+	/**
+	 * Performs text analysis on the lines of a text file, as
+	 * analyzeText() does, also recording where each sentence lies
+	 * in the file and how many tokens it has, along with histograms 
+	 * of sentence, paragraph and token lengths. The sentences can 
+	 * then be read back from the file with a SentenceReader.
+	 * 
+	 * Recording needs the lines in order, so it is only 
+	 * available in sequential analysis.
+	 * 
+	 * @param lines	the lines of the text file to be analyzed.
+	 * 
+	 * @return	structure containing the results of text analysis.
+	 * 
+	 * @throws	IOException	if an error occurs while reading the input file.
+	 * @throws	PatternSyntaxException  if the regex syntax of the pattern used is wrong.
+	 * @throws	IllegalArgumentException if one of the arguments supplied to the regex methods is wrong.
+	 */
+	public AnalyzedData analyzeText(LineOffsetReader lines) throws IOException, PatternSyntaxException, IllegalArgumentException
+	{
+		sentenceRecorder = new SentenceRecorder(lines);
+		try
+		{
+			String lineOfText = lines.readLine();
+			while (true) 
+			{
+				// Detect paragraphs in text.
+				if (lineOfText == null || lineOfText.trim().length() == 0) 
+				{
+					paragraphCount++; 
+					sentenceRecorder.endParagraph();
+					if (lineOfText == null) { break; }
+				} 
+				else 
+				{	 
+					sentenceRecorder.startLine();
+					tokenizeSentence(sentenceSegmementation(lineOfText));
+				}
+				lineOfText = lines.readLine();
+			}
+			lines.close();
+			
+			// Populate the AnalysisData structure with Paragraph, Sentence, and Word count-info, and the sentences recorded.
+			resultStats.setNumberOfParagraphs(paragraphCount);
+			resultStats.setVocabularyStatistics(vocabulary.toStatistics());
+			sentenceRecorder.storeInto(resultStats);
+			return resultStats;
+		}
+		finally { sentenceRecorder = null; }
+	}
+	
+	
+	/**
+	 * Performs text analysis on a stream of text data, spreading the
+	 * sentence segmentation and tokenization of its lines across
+	 * several worker threads which all count into one shared word counter.
+	 * 
+	 * The results are the same as those of analyzeText(), but do not 
+	 * include any text previously analyzed by this instance. Batches 
+	 * of lines are counted out of order, but their moving-average 
+	 * type-token ratios are merged in text order, so the windows 
+	 * spanning two batches are counted too.
+	 * 
+	 * @param textStream	the text data to be analyzed.
+	 * @param workers		the number of worker threads to use.
+	 * @param strategy		the strategy used for aggregating word frequencies across threads.
+	 * 
+	 * @return	structure containing the results of text analysis.
+	 * 
+	 * @throws	IOException	if an error occurs while reading the input file, or the analysis is interrupted.
+	 * @throws	IllegalArgumentException if the number of workers is not positive.
+	 * @throws	ArithmeticException if the text has more tokens, types or occurrences of a word than an int holds.
+	 */
+	public AnalyzedData analyzeTextInParallel(BufferedReader textStream, int workers, CountingStrategy strategy) throws IOException, IllegalArgumentException, ArithmeticException
+	{
+		return analyzeTextInParallel(textStream, workers, strategy.newCounter());
+	}
+	
+	
+	/**
+	 * Performs text analysis on a stream of text data, spreading the
+	 * sentence segmentation and tokenization of its lines across
+	 * several worker threads which all count into the given word counter.
+	 * If the counter is an OffHeapVocabulary, the results keep the word 
+	 * frequencies in it rather than on the heap.
+	 * 
+	 * @param textStream	the text data to be analyzed.
+	 * @param workers		the number of worker threads to use.
+	 * @param counter		the new, empty word counter shared by the worker threads.
+	 * 
+	 * @return	structure containing the results of text analysis.
+	 * 
+	 * @throws	IOException	if an error occurs while reading the input file, or the analysis is interrupted.
+	 * @throws	IllegalArgumentException if the number of workers is not positive.
+	 * @throws	ArithmeticException if the text has more tokens, types or occurrences of a word than an int holds.
+	 */
+	public AnalyzedData analyzeTextInParallel(BufferedReader textStream, int workers, WordCounter counter) throws IOException, IllegalArgumentException, ArithmeticException
+	{
+		if (workers < 1) { throw new IllegalArgumentException("Number of Workers Must Be Positive"); }
+		
+		LanguageProvider rules = language;
+		int batchSize = linesPerTask;
+		LongAdder sentenceTotal = new LongAdder();
+		LongAdder tokenTotal = new LongAdder();
+		int paragraphs = 0;
+		
+		// Bound the number of queued line batches, so the reader cannot run far ahead of the workers.
+		Semaphore inFlight = new Semaphore(workers * 2);
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		List<Future<MovingTypeTokenRatio>> tasks = new ArrayList<Future<MovingTypeTokenRatio>>();
+		MovingTypeTokenRatio movingRatio = new MovingTypeTokenRatio(MovingTypeTokenRatio.DEFAULT_WINDOW_SIZE);
+		
+		try
+		{
+			List<String> batch = new ArrayList<String>(batchSize);
+			String lineOfText = textStream.readLine();
+			
+			while (true) 
+			{
+				 // Detect paragraphs in text; this stays on the reading thread as it depends on line order.
+				 if (lineOfText == null || lineOfText.trim().length() == 0) 
+				 {
+				     paragraphs++; 
+				     if(lineOfText == null ) break;
+				 } 
+				 else 
+				 {
+					 batch.add(lineOfText);
+					 if (batch.size() == batchSize)
+					 {
+						 inFlight.acquire();
+						 tasks.add(pool.submit(analyzeLines(batch, rules, counter, sentenceTotal, tokenTotal, inFlight)));
+						 batch = new ArrayList<String>(batchSize);
+					 }
+				 }
+				 lineOfText = textStream.readLine();
+			}
+			
+			if (!batch.isEmpty())
+			{
+				inFlight.acquire();
+				tasks.add(pool.submit(analyzeLines(batch, rules, counter, sentenceTotal, tokenTotal, inFlight)));
+			}
+			
+			// Wait for all the workers to finish.
+			for (Future<MovingTypeTokenRatio> task : tasks) { movingRatio.merge(task.get()); }
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Text Analysis Was Interrupted", e);
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException) { throw (RuntimeException) e.getCause(); }
+			throw new IOException("Error Analyzing the Input Text", e.getCause());
+		}
+		finally
+		{
+			pool.shutdownNow();
+			textStream.close();
+		}
+		
+		// Populate the AnalysisData structure with Paragraph, Sentence, and Word count-info.
+		AnalyzedData result = new AnalyzedData();
+		FrequencySpectrum spectrum = new FrequencySpectrum();
+		int tokens = Math.toIntExact(tokenTotal.sum());
+		int types;
+		
+		if (counter instanceof OffHeapVocabulary)
+		{
+			// Leave the words off the heap; only their frequencies are needed here.
+			OffHeapVocabulary vocabulary = (OffHeapVocabulary) counter;
+			vocabulary.forEachFrequency(frequency -> spectrum.add(Math.toIntExact(frequency)));
+			types = Math.toIntExact(vocabulary.size());
+			result.setVocabulary(vocabulary);
+		}
+		else
+		{
+			// Build the spectrum as the words are gathered, rather than in another pass over them.
+			Map<String, Integer> words = counter.toMap(spectrum::add);
+			types = words.size();
+			result.setWords(words);
+		}
+		
+		result.setNumberOfParagraphs(paragraphs);
+		result.setNumberOfSentences(sentenceTotal.intValue());
+		result.setNumberOfTokens(tokens);
+		result.setNumberOfTypes(types);
+		result.setVocabularyStatistics(VocabularyTracker.toStatistics(tokens, types, spectrum, movingRatio));
+		
+		return result;
+	}
+	
+	
+	/**
+	 * Splits a single paragraph of text into sentences
+	 * and then into word-tokens, expanding contractions,
+	 * without counting anything. Safe to call from several 
+	 * threads at once.
+	 * 
+	 * @param textParagraph	the text paragraph to tokenize.
+	 * 
+	 * @return	a list of the tokens in the paragraph.
+	 */
+	public List<String> tokenizeParagraph(String textParagraph)
+	{
+		List<String> tokens = new ArrayList<String>();
+		for (String sentence : language.getSegmenter().segment(textParagraph))
+		{
+			tokens.addAll(language.getTokenizer().tokenize(language.getContractionExpander().expand(sentence)));
+		}
+		return tokens;
+	}
+	
+	
 	//=======================================================================  PRIVATE METHODS ==========================================================================================
 	
 	
@@ -174,25 +473,10 @@ public final class TextAnalyzer
 	 private List<String> sentenceSegmementation(String textParagraph) 
 	 {
 		
-		tempParagraph = textParagraph;
-		sentences = new ArrayList<String>();
-		
 		//do sentence segmentation operation.
-		Locale locale = Locale.US;
-		BreakIterator breaker = BreakIterator.getSentenceInstance(locale);
-	 	breaker.setText(tempParagraph);
-	 	
-		int boundaryInd = breaker.first();
-		while (boundaryInd != BreakIterator.DONE)
-		{
-			prevSentenceIndex = breaker.current();
-			boundaryInd = breaker.next();
-			currSentenceIndex = breaker.current();
-						
-			sentences.add(tempParagraph.substring(prevSentenceIndex, currSentenceIndex));
-		}
+		sentences = language.getSegmenter().segment(textParagraph);
 		
-		sentenceCount += (sentences.size()-1);
+		sentenceCount += sentences.size();
 		
 		resultStats.setNumberOfSentences(sentenceCount);
 		
@@ -220,43 +504,26 @@ public final class TextAnalyzer
 	private void tokenizeSentence(List<String> sentences) throws PatternSyntaxException, IllegalArgumentException
 	{ 
 	
-		Map<String, String> contractions = new HashMap<String, String>();
-		// Handle if the preceding word is a personal pronoun e.g. "he", "she", and "it".
-		contractions.put("(^|[^a-zA-Z])([Hh]e)'s", "$2 is");
-		contractions.put("(^|[^a-zA-Z])([Ss]e)'s", "$2 is");
-		contractions.put("(^|[^a-zA-Z])([Ii]t)'s", "$2 is");
-		
-		//Handle other forms of word-contraction.
-		//contractions.put("([a-zA-Z]+)('s)", "$1 $2");
-		contractions.put("'s", " 's");
-		contractions.put("'d", " would");
-		contractions.put("'re", " are");
-		contractions.put("'ll", " will");
-		contractions.put("n't", " not");
-		contractions.put("'nt", " not");
-		contractions.put("'ve", " have");
-		contractions.put("'m", " am");
-		
-		// Handle numbers followed by letters e.g. "80s" , "90s".
-		contractions.put("([0-9]+)([a-zA-Z]+)", "$1 $2");
-
 		// For each sentence containing words, tokenize the words using Regex.
 		for (String sentence: sentences)
 		{
+			String sentenceText = sentence;
+			List<String> tokenizedSentence = Collections.emptyList();
+			
 			if (!sentence.equals(" ") || !(sentence == null) )
 			{
 				// First expand any word-contractions.
-				for (String key : contractions.keySet())
-				{
-					sentence = sentence.replaceAll(key + "\\b", contractions.get(key));
-				}
+				sentence = language.getContractionExpander().expand(sentence);
 				
 				// Next, tokenize the sentence and its punctuations; into a list of tokens.
-				List<String> tokenizedSentence = splitter(sentence);
+				tokenizedSentence = language.getTokenizer().tokenize(sentence);
 
 				// Finally, count all tokens and types.
 				countWords(tokenizedSentence);
 			}
+			
+			// Record where the sentence lies, whether or not it held any words.
+			if (sentenceRecorder != null) { sentenceRecorder.addSentence(sentenceText, tokenizedSentence); }
 		}
    }
 	 
@@ -277,8 +544,9 @@ public final class TextAnalyzer
 		   // Count number of tokens 
 		   // and store their word-to-frequency mapping in a list.
 		   Integer num = wordCount.get(word);
-	        num = (num == null) ? 1 : ++num;
-	        wordCount.put(word, num);
+	        int previous = (num == null) ? 0 : num;
+	        wordCount.put(word, previous + 1);
+	        vocabulary.add(word, previous);
 		   
 		   // Count number of types (distinct words) 
 		   if ( typeCount.keySet().contains(word))
@@ -288,12 +556,8 @@ public final class TextAnalyzer
 		   typeCount.put(word, 1);
 	   }
 	   
-	   // Calculate the total number of tokens.
-	   int tokenCount = 0;
-	   for (String s: wordCount.keySet())
-	   {
-		   tokenCount += wordCount.get(s);
-	   }
+	   // Keep a running total of tokens, rather than summing the whole word map for every sentence.
+	   tokenCount += wordsList.size();
 	   
 	   resultStats.setNumberOfTokens(tokenCount);
 	   countTypes();
@@ -307,36 +571,59 @@ public final class TextAnalyzer
     */
    private void countTypes()
    {
- 	   // Calculate the total number of tokens.
-	   int numOfTypes = 0;
-	   for (String s: typeCount.keySet())
-	   {
-		   numOfTypes += typeCount.get(s);
-	   }
-	   
-	   resultStats.setNumberOfTypes(numOfTypes);
+	   // Every type's entry is reset to 1 as it is counted, so the sum of the entries is the number of entries.
+	   resultStats.setNumberOfTypes(typeCount.size());
 	   resultStats.setWords(wordCount);
    }
    
 	
    
    /**
-    * Helper method that performs regular expression
-    * operations to split a sentence into tokens, taking
-    * note of punctuations.
+    * Helper method that builds the task analyzing a batch 
+    * of lines on a worker thread during parallel analysis.
     * 
-    * @param sentence	the sentence to be split into tokens.
+    * @param lines			the lines of text to analyze.
+    * @param rules			the language used to segment and tokenize the lines.
+    * @param counter		the shared word counter to count tokens into.
+    * @param sentenceTotal	the shared total of sentences found.
+    * @param tokenTotal		the shared total of tokens found.
+    * @param inFlight		the permit to release once the batch is done.
     * 
-    * @return	a list of tokens.
+    * @return	the task analyzing the batch, which returns the 
+    * 			moving-average type-token ratio of the batch's tokens.
     */
-   private List<String> splitter(String sentence) 
+   private static Callable<MovingTypeTokenRatio> analyzeLines(List<String> lines, LanguageProvider rules, WordCounter counter, LongAdder sentenceTotal, LongAdder tokenTotal, Semaphore inFlight)
    {
-	    Pattern pattern = Pattern.compile("(\\w+)|(\\.{3})|(\\'s)|[^\\s]");
-	    Matcher matcher = pattern.matcher(sentence);
-	    List<String> list = new ArrayList<String>();
-	    while (matcher.find()) { list.add(matcher.group()); }
-	    return list;
-	}
-   
+	   return () ->
+	   {
+		   try
+		   {
+			   MovingTypeTokenRatio movingRatio = new MovingTypeTokenRatio(MovingTypeTokenRatio.DEFAULT_WINDOW_SIZE);
+			   
+			   int sentencesFound = 0;
+			   long tokensFound = 0;
+			   for (String line : lines)
+			   {
+				   List<String> lineSentences = rules.getSegmenter().segment(line);
+				   sentencesFound += lineSentences.size();
+				   
+				   for (String sentence : lineSentences)
+				   {
+					   String expanded = rules.getContractionExpander().expand(sentence);
+					   for (String token : rules.getTokenizer().tokenize(expanded)) 
+					   { 
+						   counter.increment(token);
+						   movingRatio.add(token);
+						   tokensFound++;
+					   }
+				   }
+			   }
+			   sentenceTotal.add(sentencesFound);
+			   tokenTotal.add(tokensFound);
+			   return movingRatio;
+		   }
+		   finally { inFlight.release(); }
+	   };
+   }
    	
 }
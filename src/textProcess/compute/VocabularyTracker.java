@@ -0,0 +1,108 @@
+package textProcess.compute;
+
+import textProcess.structures.VocabularyStatistics;
+
+/**
+ * This class tracks the vocabulary statistics of a
+ * stream of word-tokens as they are counted: given
+ * each word's frequency before it, from the caller's 
+ * own word count, every token updates the frequency 
+ * spectrum and the moving-average type-token ratio in
+ * constant time, without another map of the words.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class VocabularyTracker
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the number of distinct words seen.
+	private int types;
+	
+	// Represents the number of tokens seen.
+	private long tokens;
+	
+	// Represents the frequency-of-frequency spectrum.
+	private final FrequencySpectrum spectrum = new FrequencySpectrum();
+	
+	// Represents the moving-average type-token ratio.
+	private final MovingTypeTokenRatio movingRatio;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param windowSize	the number of tokens in each moving-average type-token ratio window.
+	 */
+	public VocabularyTracker(int windowSize)
+	{
+		movingRatio = new MovingTypeTokenRatio(windowSize);
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Adds the next word-token of the text.
+	 * 
+	 * @param word				the word-token.
+	 * @param previousFrequency	the number of times the word occurred before this token; 0 for a new word.
+	 */
+	public void add(String word, int previousFrequency)
+	{
+		if (previousFrequency == 0) { types++; }
+		spectrum.increment(previousFrequency);
+		movingRatio.add(word);
+		tokens++;
+	}
+	
+	
+	/**
+	 * Returns the statistics of the tokens added so far.
+	 * 
+	 * @return the vocabulary statistics.
+	 */
+	public VocabularyStatistics toStatistics()
+	{
+		return toStatistics(tokens, types, spectrum, movingRatio);
+	}
+	
+	
+	/**
+	 * Helper method that returns the moving-average 
+	 * type-token ratio of the tokens added so far, which
+	 * can be merged with those of the following text.
+	 * 
+	 * @return the moving-average type-token ratio.
+	 */
+	public MovingTypeTokenRatio getMovingTypeTokenRatio()
+	{ return movingRatio; }
+	
+	
+	/**
+	 * Builds the vocabulary statistics from a finished 
+	 * spectrum and moving-average type-token ratio.
+	 * 
+	 * @param tokens		the number of tokens.
+	 * @param types			the number of types.
+	 * @param spectrum		the frequency spectrum of the types.
+	 * @param movingRatio	the moving-average type-token ratio of the tokens.
+	 * 
+	 * @return the vocabulary statistics.
+	 */
+	public static VocabularyStatistics toStatistics(long tokens, int types, FrequencySpectrum spectrum, MovingTypeTokenRatio movingRatio)
+	{
+		double typeTokenRatio = (tokens == 0) ? 0 : (double) types / tokens;
+		double[] zipf = spectrum.fitZipf();
+		return new VocabularyStatistics(tokens, types, movingRatio.getWindowSize(), movingRatio.getAverage(typeTokenRatio),
+				spectrum.toArray(), zipf[0], zipf[1]);
+	}
+	
+}
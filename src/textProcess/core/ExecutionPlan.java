@@ -0,0 +1,237 @@
+package textProcess.core;
+
+import java.util.Locale;
+
+import textProcess.compute.TextAnalyzer;
+import textProcess.structures.CountingStrategy;
+
+/**
+ * This class represents how an analysis run is
+ * executed: in this process on one thread, on several
+ * worker threads, or in several worker processes (shards),
+ * along with the number of lines handed to a worker thread
+ * at a time and the structure the word counts are kept in.
+ *
+ * Plans are immutable, and only choose how the analysis is
+ * run, never what it finds: the batches of lines of worker
+ * threads and the parts of the file of shards are merged in
+ * text order, counting the moving-average type-token ratio's
+ * windows that span two of them, so any plan, whatever its
+ * number of lines per task, yields the same output for the
+ * same input (as DifferentialCheck and ShardCheck check).
+ *
+ * @author David Olorundare
+ *
+ */
+public final class ExecutionPlan
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the plan of a run given no options: one thread in this process.
+	public static final ExecutionPlan DEFAULT = new ExecutionPlan(1, 1, CountingStrategy.STRIPED, TextAnalyzer.DEFAULT_LINES_PER_TASK, "default");
+
+	// Represents the number of worker threads.
+	private final int workers;
+
+	// Represents whether the text is analyzed on worker threads, even a single one, rather than on the main thread.
+	private final boolean threaded;
+
+	// Represents the number of worker processes, each analyzing a part of the input.
+	private final int shards;
+
+	// Represents the structure the word counts of worker threads are kept in.
+	private final CountingStrategy strategy;
+
+	// Represents the number of lines handed to a worker thread at a time.
+	private final int linesPerTask;
+
+	// Represents what the plan was chosen from, e.g. the size of the input.
+	private final String basis;
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Constructor of the class.
+	 *
+	 * @param workers		the number of worker threads.
+	 * @param shards		the number of worker processes; more than one runs a sharded analysis.
+	 * @param strategy		the structure the word counts of worker threads are kept in.
+	 * @param linesPerTask	the number of lines handed to a worker thread at a time.
+	 * @param basis			what the plan was chosen from, shown when it is logged.
+	 *
+	 * @throws IllegalArgumentException if a number is not positive.
+	 */
+	public ExecutionPlan(int workers, int shards, CountingStrategy strategy, int linesPerTask, String basis) throws IllegalArgumentException
+	{
+		this(workers, false, shards, strategy, linesPerTask, basis);
+	}
+
+
+	/**
+	 * Constructor of the class.
+	 *
+	 * @param workers		the number of worker threads.
+	 * @param threaded		whether to use worker threads even if there is only one; 
+	 * 						they are always used for several, or to count off the heap.
+	 * @param shards		the number of worker processes; more than one runs a sharded analysis.
+	 * @param strategy		the structure the word counts of worker threads are kept in.
+	 * @param linesPerTask	the number of lines handed to a worker thread at a time.
+	 * @param basis			what the plan was chosen from, shown when it is logged.
+	 *
+	 * @throws IllegalArgumentException if a number is not positive.
+	 */
+	public ExecutionPlan(int workers, boolean threaded, int shards, CountingStrategy strategy, int linesPerTask, String basis) throws IllegalArgumentException
+	{
+		if (workers < 1 || shards < 1 || linesPerTask < 1)
+		{ throw new IllegalArgumentException("Workers, Shards and Lines per Task Must Be Positive"); }
+
+		this.workers = workers;
+		this.threaded = threaded || workers > 1 || strategy == CountingStrategy.OFFHEAP;
+		this.shards = shards;
+		this.strategy = strategy;
+		this.linesPerTask = linesPerTask;
+		this.basis = basis;
+	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	/**
+	 * Returns a copy of this plan with the given choices
+	 * in place of its own, e.g. those given as options
+	 * on the command line. As only worker threads use a 
+	 * counting structure, giving one makes the run threaded,
+	 * on a single worker thread unless told otherwise.
+	 *
+	 * @param workers		the number of worker threads, or 0 to keep this plan's.
+	 * @param shards		the number of worker processes, or 0 to keep this plan's.
+	 * @param strategy		the counting structure, or null to keep this plan's.
+	 * @param linesPerTask	the number of lines per task, or 0 to keep this plan's.
+	 *
+	 * @return	the plan with the given choices, or this plan if none are given.
+	 *
+	 * @throws IllegalArgumentException if a number is negative.
+	 */
+	public ExecutionPlan override(int workers, int shards, CountingStrategy strategy, int linesPerTask) throws IllegalArgumentException
+	{
+		if (workers < 0 || shards < 0 || linesPerTask < 0) { throw new IllegalArgumentException("Workers, Shards and Lines per Task Must Be Positive"); }
+		if (workers == 0 && shards == 0 && strategy == null && linesPerTask == 0) { return this; }
+
+		return new ExecutionPlan((workers == 0) ? this.workers : workers, strategy != null || (workers == 0 && threaded), (shards == 0) ? this.shards : shards,
+				(strategy == null) ? this.strategy : strategy, (linesPerTask == 0) ? this.linesPerTask : linesPerTask,
+				(this == DEFAULT) ? "given options" : basis + ", with options");
+	}
+
+
+	/**
+	 * Helper method that returns how the analysis is run:
+	 * "sharded" in worker processes, "threaded" on worker
+	 * threads, or "sequential" on the main thread.
+	 *
+	 * @return the name of the mode of execution.
+	 */
+	public String getMode()
+	{
+		if (shards > 1) { return "sharded"; }
+		return threaded ? "threaded" : "sequential";
+	}
+
+
+	/**
+	 * Helper method that returns the number of worker threads.
+	 *
+	 * @return the number of worker threads.
+	 */
+	public int getWorkers()
+	{ return workers; }
+
+
+	/**
+	 * Helper method that returns the number of worker processes.
+	 *
+	 * @return the number of shards.
+	 */
+	public int getShards()
+	{ return shards; }
+
+
+	/**
+	 * Helper method that returns the structure the word
+	 * counts of worker threads are kept in.
+	 *
+	 * @return the counting strategy.
+	 */
+	public CountingStrategy getStrategy()
+	{ return strategy; }
+
+
+	/**
+	 * Helper method that returns the number of lines
+	 * handed to a worker thread at a time.
+	 *
+	 * @return the number of lines per task.
+	 */
+	public int getLinesPerTask()
+	{ return linesPerTask; }
+
+
+	/**
+	 * Returns a key naming the choices of this plan,
+	 * e.g. "threaded.4.1.striped.256", under which the
+	 * timings of past runs are recorded.
+	 *
+	 * @return the key of this plan.
+	 */
+	public String toKey()
+	{
+		return getMode() + "." + workers + "." + shards + "." + strategy.name().toLowerCase(Locale.ROOT) + "." + linesPerTask;
+	}
+
+
+	/**
+	 * Returns the plan named by a key of toKey().
+	 *
+	 * @param key	the key of a plan.
+	 * @param basis	what the plan was chosen from.
+	 *
+	 * @return the plan named by the key.
+	 *
+	 * @throws IllegalArgumentException if the key does not name a plan.
+	 */
+	public static ExecutionPlan fromKey(String key, String basis) throws IllegalArgumentException
+	{
+		String[] parts = key.split("\\.");
+		if (parts.length != 5) { throw new IllegalArgumentException("Not a Plan Key: " + key); }
+
+		try { return new ExecutionPlan(Integer.parseInt(parts[1]), parts[0].equals("threaded"), Integer.parseInt(parts[2]), CountingStrategy.fromName(parts[3]), Integer.parseInt(parts[4]), basis); }
+		catch (NumberFormatException e) { throw new IllegalArgumentException("Not a Plan Key: " + key, e); }
+	}
+
+
+	/**
+	 * Returns a description of this plan,
+	 * for logging.
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder description = new StringBuilder(getMode());
+		if (shards > 1) { description.append(", ").append(shards).append(" shards"); }
+		else
+		{
+			description.append(", ").append(workers).append((workers == 1) ? " worker" : " workers");
+			if (!getMode().equals("sequential"))
+			{
+				description.append(", ").append(linesPerTask).append(" lines per task");
+				description.append(", ").append(strategy.name().toLowerCase(Locale.ROOT)).append(" counter");
+			}
+		}
+		return description.append(" (").append(basis).append(")").toString();
+	}
+
+}
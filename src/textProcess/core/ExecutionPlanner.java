@@ -0,0 +1,309 @@
+package textProcess.core;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Properties;
+
+import textProcess.compute.TextAnalyzer;
+import textProcess.structures.CountingStrategy;
+
+/**
+ * This class chooses how an analysis run is executed
+ * from the size of the input file, the number of cores
+ * and the largest heap of this JVM, and, if a history file
+ * is given, from the timings of past runs recorded in it.
+ *
+ * Without history the plan follows these estimates:
+ * inputs under 1MB are analyzed on the main thread, as
+ * starting a pool of worker threads costs more than it saves;
+ * larger inputs get a worker thread per core, up to one per MB,
+ * in batches of 1024 lines above 256MB; inputs of 2GB or more
+ * are split into a shard (worker process) per core, up to one
+ * per 512MB. Word counts are kept off the heap when the
+ * vocabulary, estimated by Heaps' law or recorded by past runs
+ * of that size, would need more than half the heap, on a single
+ * worker thread, as the off-heap vocabulary serializes counting.
+ *
+ * With a history file, each run records its throughput under
+ * its plan and the size of its input, rounded to a power of two.
+ * Once the estimated plan has been timed for a size, the fastest
+ * plan recorded for that size that still suits this machine is
+ * chosen instead, so plans tried by giving options on the
+ * command line compete with the estimate over time. Without one,
+ * nothing is read or written, and each run follows the estimates.
+ *
+ * @author David Olorundare
+ *
+ */
+public final class ExecutionPlanner
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the start of the line logging the plan of a run.
+	public static final String LOG_PREFIX = "# execution plan: ";
+
+	// Represents the size of input below which it is analyzed on the main thread.
+	private static final long SMALL_INPUT = 1L << 20;
+
+	// Represents the least input per worker thread.
+	private static final long BYTES_PER_WORKER = 1L << 20;
+
+	// Represents the size of input above which larger batches of lines are handed to the workers.
+	private static final long LARGE_INPUT = 1L << 28;
+
+	// Represents the number of lines per task for large inputs.
+	private static final int LARGE_LINES_PER_TASK = 1024;
+
+	// Represents the size of input from which it is analyzed in shards.
+	private static final long SHARDED_INPUT = 1L << 31;
+
+	// Represents the least input per shard.
+	private static final long BYTES_PER_SHARD = 1L << 29;
+
+	// Represents the parameters of Heaps' law, types = K * tokens^BETA, for English text.
+	private static final double HEAPS_K = 44;
+	private static final double HEAPS_BETA = 0.49;
+
+	// Represents the average number of bytes per token, including the space after it.
+	private static final int BYTES_PER_TOKEN = 6;
+
+	// Represents the approximate heap used by each distinct word in a map of counts.
+	private static final int HEAP_BYTES_PER_TYPE = 128;
+
+	// Represents the property key suffix recording the vocabulary size of past runs.
+	private static final String TYPES_KEY = "types";
+
+	// Represents the file holding the timings of past runs, or null to plan from the estimates alone.
+	private final File history;
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Constructor of the class, planning from
+	 * the estimates alone, with no history.
+	 *
+	 */
+	public ExecutionPlanner()
+	{
+		this(null);
+	}
+
+
+	/**
+	 * Constructor of the class.
+	 *
+	 * @param history	the file holding the timings of past runs; it need not exist yet.
+	 */
+	public ExecutionPlanner(File history)
+	{
+		this.history = history;
+	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	/**
+	 * Chooses how to analyze an input file on this machine.
+	 *
+	 * @param input					the input text-file.
+	 * @param excludingParagraphs	whether paragraphs are left out of the analysis, which shards do not support.
+	 *
+	 * @return	the plan of the run.
+	 *
+	 * @throws IOException	if the history file cannot be read.
+	 */
+	public ExecutionPlan plan(File input, boolean excludingParagraphs) throws IOException
+	{
+		long size = input.length();
+		int cores = Runtime.getRuntime().availableProcessors();
+		long heap = Runtime.getRuntime().maxMemory();
+		Properties past = loadHistory();
+		String bucket = bucketOf(size);
+
+		ExecutionPlan estimate = estimate(size, cores, heap, estimateTypes(size, (long) recorded(past, bucket + "." + TYPES_KEY)), excludingParagraphs);
+
+		// Time the estimated plan at least once before trusting any other.
+		double bestSpeed = recorded(past, bucket + "." + estimate.toKey());
+		if (bestSpeed < 0) { return estimate; }
+
+		ExecutionPlan best = estimate;
+		for (String key : past.stringPropertyNames())
+		{
+			if (!key.startsWith(bucket + ".") || key.equals(bucket + "." + TYPES_KEY)) { continue; }
+
+			ExecutionPlan candidate;
+			try { candidate = ExecutionPlan.fromKey(key.substring(bucket.length() + 1), "fastest of past runs on inputs of about " + megabytes(size)); }
+			catch (IllegalArgumentException e) { continue; }
+
+			double speed = recorded(past, key);
+			if (speed > bestSpeed && suits(candidate, estimate, cores, excludingParagraphs))
+			{
+				best = candidate;
+				bestSpeed = speed;
+			}
+		}
+		return best;
+	}
+
+
+	/**
+	 * Records the timing of a run in the history file,
+	 * averaged with earlier runs of the same plan on
+	 * inputs of about the same size. Without a history
+	 * file, nothing is recorded.
+	 *
+	 * @param input		the input text-file.
+	 * @param plan		the plan of the run.
+	 * @param nanos		the time the analysis took, in nanoseconds.
+	 * @param types		the number of distinct words found.
+	 *
+	 * @throws IOException	if the history file cannot be read or written.
+	 */
+	public void record(File input, ExecutionPlan plan, long nanos, int types) throws IOException
+	{
+		if (history == null) { return; }
+		
+		long size = input.length();
+		String bucket = bucketOf(size);
+		double speed = size * 1e6 / Math.max(1, nanos);
+
+		Properties past = loadHistory();
+		String key = bucket + "." + plan.toKey();
+		double earlier = recorded(past, key);
+		past.setProperty(key, Double.toString((earlier < 0) ? speed : (earlier + speed) / 2));
+		past.setProperty(bucket + "." + TYPES_KEY, Integer.toString(types));
+
+		// Write a new file and move it into place, so a run that fails half-way leaves the old history.
+		File directory = history.getAbsoluteFile().getParentFile();
+		if (!directory.isDirectory() && !directory.mkdirs()) { throw new IOException("Cannot Create the Directory " + directory); }
+
+		File written = File.createTempFile("plan-history", ".tmp", directory);
+		try
+		{
+			OutputStream out = new FileOutputStream(written);
+			try { past.store(out, "Throughput (bytes per ms) of past analysis runs, by log2 of the input size and plan"); }
+			finally { out.close(); }
+			Files.move(written.toPath(), history.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally { written.delete(); }
+	}
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * Helper method that chooses a plan from the size
+	 * of the input and of the machine alone.
+	 */
+	private static ExecutionPlan estimate(long size, int cores, long heap, long types, boolean excludingParagraphs)
+	{
+		String basis = "estimated for " + megabytes(size) + " input, " + cores + ((cores == 1) ? " core, " : " cores, ") + megabytes(heap) + " heap";
+
+		if (size >= SHARDED_INPUT && cores > 1 && !excludingParagraphs)
+		{
+			int shards = (int) Math.max(2, Math.min(cores, size / BYTES_PER_SHARD));
+			return new ExecutionPlan(1, shards, CountingStrategy.STRIPED, TextAnalyzer.DEFAULT_LINES_PER_TASK, basis);
+		}
+
+		// The off-heap vocabulary counts under one lock, so more workers would only wait on each other.
+		boolean offHeap = types * HEAP_BYTES_PER_TYPE > heap / 2;
+		int workers = (size < SMALL_INPUT || offHeap) ? 1 : (int) Math.max(1, Math.min(cores, size / BYTES_PER_WORKER));
+		int linesPerTask = (size > LARGE_INPUT) ? LARGE_LINES_PER_TASK : TextAnalyzer.DEFAULT_LINES_PER_TASK;
+
+		return new ExecutionPlan(workers, 1, offHeap ? CountingStrategy.OFFHEAP : CountingStrategy.STRIPED, linesPerTask, basis);
+	}
+
+
+	/**
+	 * Helper method that estimates the number of distinct
+	 * words in an input of the given size, as the larger
+	 * of Heaps' law and the number recorded by past runs.
+	 */
+	private static long estimateTypes(long size, long recorded)
+	{
+		return Math.max(recorded, (long) (HEAPS_K * Math.pow((double) size / BYTES_PER_TOKEN, HEAPS_BETA)));
+	}
+
+
+	/**
+	 * Helper method that checks whether a plan recorded in
+	 * the history can be used for this run: it must not use
+	 * more threads or processes than there are cores, nor
+	 * shards when paragraphs are left out, nor several worker
+	 * threads counting off the heap, nor keep words on the heap
+	 * when the estimate keeps them off it.
+	 */
+	private static boolean suits(ExecutionPlan candidate, ExecutionPlan estimate, int cores, boolean excludingParagraphs)
+	{
+		if (candidate.getWorkers() > cores || candidate.getShards() > cores) { return false; }
+		if (candidate.getShards() > 1) { return !excludingParagraphs; }
+		if (candidate.getStrategy() == CountingStrategy.OFFHEAP && candidate.getWorkers() > 1) { return false; }
+		return estimate.getStrategy() != CountingStrategy.OFFHEAP || candidate.getStrategy() == CountingStrategy.OFFHEAP;
+	}
+
+
+	/**
+	 * Helper method that returns the timings recorded
+	 * in the history file, if there is one.
+	 */
+	private Properties loadHistory() throws IOException
+	{
+		Properties past = new Properties();
+		if (history != null && history.exists())
+		{
+			InputStream in = new FileInputStream(history);
+			try { past.load(in); }
+			finally { in.close(); }
+		}
+		return past;
+	}
+
+
+	/**
+	 * Helper method that returns a number recorded in the
+	 * history, or -1 if it is missing or not a number.
+	 */
+	private static double recorded(Properties past, String key)
+	{
+		String value = past.getProperty(key);
+		if (value == null) { return -1; }
+
+		try { return Double.parseDouble(value); }
+		catch (NumberFormatException e) { return -1; }
+	}
+
+
+	/**
+	 * Helper method that returns the key of the sizes
+	 * of input about the same as the given size, the
+	 * base-2 logarithm of the size rounded down.
+	 */
+	private static String bucketOf(long size)
+	{
+		return Integer.toString(63 - Long.numberOfLeadingZeros(Math.max(1, size)));
+	}
+
+
+	/**
+	 * Helper method that returns a number of bytes
+	 * in megabytes, for logging.
+	 */
+	private static String megabytes(long bytes)
+	{
+		return String.format(Locale.ROOT, "%.1fMB", bytes / 1048576.0);
+	}
+
+}
@@ -1,11 +1,18 @@
 package textProcess.core;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Locale;
 import java.util.regex.PatternSyntaxException;
 
+import textProcess.compute.DuplicateDetector;
 import textProcess.compute.TextAnalyzer;
+import textProcess.language.Languages;
+import textProcess.shard.ShardCoordinator;
 import textProcess.structures.AnalyzedData;
+import textProcess.structures.CountingStrategy;
+import textProcess.structures.OffHeapVocabulary;
 import textProcess.utils.FileHandler;
 import textProcess.utils.OutputPrinter;
 
@@ -19,7 +26,39 @@ import textProcess.utils.OutputPrinter;
  * 
  * From the command line run:
  * 
- * ./ TextPreProcessorMain.java <input_file_containing_text> <output_file_to_store_text_analysis>
+ * ./ TextPreProcessorMain.java <input_file_containing_text> <output_file_to_store_text_analysis> [options]
+ * 
+ * where the optional options are:
+ * 
+ * --threads=N			analyze the text on N worker threads.
+ * --counter=NAME		how word counts are aggregated across threads: merge,
+ * 						adder, striped or offheap, which keeps
+ * 						the vocabulary in direct memory outside the heap;
+ * 						the text is then analyzed on worker threads, one
+ * 						unless --threads is given.
+ * --vocabulary-file=F	keep the vocabulary outside the heap, in the memory-
+ * 						mapped scratch file F, for vocabularies larger than memory;
+ * 						with --shards, the shards' words are merged into it.
+ * --language=TAG		the language of the text: en, es or de (default en).
+ * --shards=N			analyze the text in N worker processes, each taking
+ * 						a part of the file.
+ * --dedup[=T]			leave out paragraphs whose similarity to an earlier
+ * 						paragraph is at least T, from 0 to 1 (default 0.8);
+ * 						not with --shards.
+ * --lines-per-task=N	hand N lines at a time to each worker thread (default 256).
+ * --record-sentences	record where each sentence lies in the input file, and
+ * 						report the mean sentence, paragraph and token lengths;
+ * 						the text is then analyzed on one thread.
+ * --plan=off			do not plan the run: analyze on one thread unless
+ * 						told otherwise, and record no timings.
+ * --plan-history=F		record the timings of runs in the file F, and plan
+ * 						later runs from them (by default no timings are kept).
+ * 
+ * Unless the number of threads or shards is given, or sentences are
+ * recorded, the run is planned 
+ * from the size of the input file, the number of cores, the heap and any
+ * timings of past runs (see ExecutionPlanner); the plan is logged to the
+ * error stream, and any options given above win over it.
  * 
  * 
  * The program returns an analysis of the text in the input file,
@@ -62,13 +101,92 @@ public class TextPreProcessorMain
 			
 			try 
 			{
-				// Load the input text and analyze it.
-				textAnalysis = textData.loadAndCompute(textComputation); 
-			
-		   //============================== RESULTS-PRINTING  ======================================================
+				// Read any optional settings for parallel analysis; those left at 0 or null are chosen by the planner.
+				int workers = 0;
+				int shards = 0;
+				int linesPerTask = 0;
+				CountingStrategy strategy = null;
+				double dedupThreshold = -1;
+				String vocabularyFile = null;
+				boolean recordSentences = false;
+				boolean planning = true;
+				String planHistory = null;
+				for (int i = 2; i < args.length; i++)
+				{
+					if (args[i].startsWith("--threads=")) { workers = positive(args[i], "--threads="); }
+					else if (args[i].startsWith("--shards=")) { shards = positive(args[i], "--shards="); }
+					else if (args[i].startsWith("--counter=")) { strategy = CountingStrategy.fromName(args[i].substring("--counter=".length())); }
+					else if (args[i].startsWith("--lines-per-task=")) { linesPerTask = positive(args[i], "--lines-per-task="); }
+					else if (args[i].startsWith("--vocabulary-file=")) { vocabularyFile = args[i].substring("--vocabulary-file=".length()); }
+					else if (args[i].startsWith("--language=")) { textComputation.setLanguage(Languages.forTag(args[i].substring("--language=".length()))); }
+					else if (args[i].equals("--dedup")) { dedupThreshold = DuplicateDetector.DEFAULT_THRESHOLD; }
+					else if (args[i].startsWith("--dedup=")) 
+					{ 
+						dedupThreshold = Double.parseDouble(args[i].substring("--dedup=".length()));
+						if (!(dedupThreshold >= 0 && dedupThreshold <= 1)) { throw new IllegalArgumentException("Dedup Threshold Must Be From 0 to 1: " + args[i]); }
+					}
+					else if (args[i].equals("--record-sentences")) { recordSentences = true; }
+					else if (args[i].equals("--plan=off")) { planning = false; }
+					else if (args[i].startsWith("--plan-history=")) { planHistory = args[i].substring("--plan-history=".length()); }
+					else { throw new IllegalArgumentException("Unknown Option: " + args[i]); }
+				}
+				if (vocabularyFile != null) { strategy = CountingStrategy.OFFHEAP; }
+				
+				// Refuse options that cannot run together before any work is done.
+				if (shards > 1 && dedupThreshold >= 0) { throw new IllegalArgumentException("Options --shards and --dedup Cannot Be Used Together: Excluded Paragraphs Are Not Supported in Sharded Analysis"); }
+				if (recordSentences && (workers > 1 || shards > 1 || strategy != null)) 
+				{ throw new IllegalArgumentException("Option --record-sentences Cannot Be Used With --threads, --shards, --counter or --vocabulary-file: Sentences Are Only Recorded in Sequential Analysis"); }
 				
-				// Print out analysis of the given input text and stores it in an external file.
-				output.printAnalysisToScreen(textAnalysis);
+				// Plan the run, unless the number of threads or shards is given or sentences are recorded; any options given win over the plan.
+				ExecutionPlanner planner = (planHistory == null) ? new ExecutionPlanner() : new ExecutionPlanner(new File(planHistory));
+				File input = new File(args[0]);
+				ExecutionPlan plan = (planning && workers == 0 && shards == 0 && !recordSentences) ? planner.plan(input, dedupThreshold >= 0) : ExecutionPlan.DEFAULT;
+				plan = plan.override(workers, shards, strategy, linesPerTask);
+				System.err.println(ExecutionPlanner.LOG_PREFIX + plan);
+				
+				// Leave near-duplicate paragraphs out of the analysis, if asked to.
+				if (dedupThreshold >= 0)
+				{
+					DuplicateDetector detector = new DuplicateDetector(textComputation, DuplicateDetector.DEFAULT_SIGNATURE_SIZE, 
+							DuplicateDetector.DEFAULT_BANDS, DuplicateDetector.DEFAULT_SHINGLE_SIZE, dedupThreshold);
+					System.out.println("# of duplicate paragraphs left out = " + textData.findDuplicateParagraphs(detector, plan.getWorkers()).cardinality());
+				}
+				
+				// Load the input text and analyze it as planned.
+				textData.setSentenceRecording(recordSentences);
+				OffHeapVocabulary vocabulary = (vocabularyFile != null) ? new OffHeapVocabulary(new File(vocabularyFile)) : null;
+				try
+				{
+					long start = System.nanoTime();
+					textComputation.setLinesPerTask(plan.getLinesPerTask());
+					if (plan.getShards() > 1 && vocabulary != null) { textAnalysis = textData.loadAndComputeInShards(textComputation, new ShardCoordinator(plan.getShards()), vocabulary); }
+					else if (plan.getShards() > 1) { textAnalysis = textData.loadAndComputeInShards(textComputation, new ShardCoordinator(plan.getShards())); }
+					else if (vocabulary != null) { textAnalysis = textData.loadAndCompute(textComputation, plan.getWorkers(), vocabulary); }
+					else if (plan.getMode().equals("threaded")) { textAnalysis = textData.loadAndCompute(textComputation, plan.getWorkers(), plan.getStrategy()); }
+					else { textAnalysis = textData.loadAndCompute(textComputation); }
+					long elapsed = System.nanoTime() - start;
+				
+		   //============================== RESULTS-PRINTING  ======================================================
+					
+					// Print out analysis of the given input text and stores it in an external file.
+					output.printAnalysisToScreen(textAnalysis);
+					if (recordSentences)
+					{
+						System.out.println("# of sentences recorded = " + textAnalysis.getSentenceIndex().size());
+						System.out.println(String.format(Locale.ROOT, "mean sentence length = %.2f tokens", textAnalysis.getSentenceLengths().getMean()));
+						System.out.println(String.format(Locale.ROOT, "mean paragraph length = %.2f sentences", textAnalysis.getParagraphLengths().getMean()));
+						System.out.println(String.format(Locale.ROOT, "mean token length = %.2f characters", textAnalysis.getTokenLengths().getMean()));
+					}
+					
+					// Record how long the analysis took, if asked to, to refine the plans of later runs.
+					if (planning) { planner.record(input, plan, elapsed, textAnalysis.getNumberOfTypes()); }
+				}
+				finally
+				{
+					// Close any vocabulary kept off the heap, deleting its scratch files.
+					if (vocabulary != null) { vocabulary.close(); }
+					if (textAnalysis.getVocabulary() != null) { textAnalysis.getVocabulary().close(); }
+				}
 		        
 		   //====================================================================================================
 			}
@@ -80,8 +198,28 @@ public class TextPreProcessorMain
 		else 
 		{
 			// Show the user some Usage-info.
-			System.out.println(":Usage: ./TextPreProcessorMain.java <input_file_containing_text> <output_file_to_store_text_analysis>");
+			System.out.println(":Usage: ./TextPreProcessorMain.java <input_file_containing_text> <output_file_to_store_text_analysis> [--threads=N] [--shards=N] [--counter=merge|adder|striped|offheap] [--vocabulary-file=FILE] [--lines-per-task=N] [--record-sentences] [--language=en|es|de] [--dedup[=THRESHOLD]] [--plan=off] [--plan-history=FILE]");
 			return;
 		}
 	}
+	
+	
+	/**
+	 * Helper method that reads the number given to an option,
+	 * which must be positive, as 0 stands for a choice left to
+	 * the planner.
+	 * 
+	 * @param option	the option, e.g. "--threads=4".
+	 * @param name		the name of the option, up to its '='.
+	 * 
+	 * @return	the number given to the option.
+	 * 
+	 * @throws IllegalArgumentException if the number is missing, malformed or less than 1.
+	 */
+	private static int positive(String option, String name) throws IllegalArgumentException
+	{
+		int value = Integer.parseInt(option.substring(name.length()));
+		if (value < 1) { throw new IllegalArgumentException("Option Must Be at Least 1: " + option); }
+		return value;
+	}
 }
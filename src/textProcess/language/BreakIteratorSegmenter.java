@@ -0,0 +1,60 @@
+package textProcess.language;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sentence segmenter built on the Java 
+ * BreakIterator sentence rules of a locale.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class BreakIteratorSegmenter implements SentenceSegmenter
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents a per-thread sentence iterator, as BreakIterator instances are not thread-safe.
+	private final ThreadLocal<BreakIterator> breaker;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param locale	the locale whose sentence rules are used.
+	 */
+	public BreakIteratorSegmenter(Locale locale)
+	{
+		breaker = ThreadLocal.withInitial(() -> BreakIterator.getSentenceInstance(locale));
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<String> segment(String textParagraph)
+	{
+		List<String> sentences = new ArrayList<String>();
+		BreakIterator iterator = breaker.get();
+		iterator.setText(textParagraph);
+		
+		int start = iterator.first();
+		for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next())
+		{
+			sentences.add(textParagraph.substring(start, end));
+		}
+		return sentences;
+	}
+	
+}
@@ -0,0 +1,26 @@
+package textProcess.language;
+
+/**
+ * This interface represents a language-specific
+ * rewriter of word-contractions into their proper 
+ * form, as separate words.
+ * 
+ * Implementations must be safe to use from 
+ * several threads at once.
+ * 
+ * @author David Olorundare
+ *
+ */
+public interface ContractionExpander
+{
+	
+	/**
+	 * Expands the word-contractions in a sentence.
+	 * 
+	 * @param sentence	the sentence whose contractions are to be expanded.
+	 * 
+	 * @return	the sentence with its contractions expanded.
+	 */
+	String expand(String sentence);
+	
+}
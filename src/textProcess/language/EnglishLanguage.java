@@ -0,0 +1,18 @@
+package textProcess.language;
+
+/**
+ * The English language, as described by the rules/en.rules rule file.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class EnglishLanguage extends RuleBasedLanguage
+{
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 */
+	public EnglishLanguage() { super("en"); }
+	
+}
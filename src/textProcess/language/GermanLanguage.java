@@ -0,0 +1,18 @@
+package textProcess.language;
+
+/**
+ * The German language, as described by the rules/de.rules rule file.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class GermanLanguage extends RuleBasedLanguage
+{
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 */
+	public GermanLanguage() { super("de"); }
+	
+}
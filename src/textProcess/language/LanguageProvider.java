@@ -0,0 +1,47 @@
+package textProcess.language;
+
+/**
+ * Service-provider interface for the language-specific
+ * parts of text analysis. Providers are discovered with 
+ * java.util.ServiceLoader, so further languages can be 
+ * added by listing their provider class in a 
+ * META-INF/services/textProcess.language.LanguageProvider file.
+ * 
+ * @author David Olorundare
+ *
+ */
+public interface LanguageProvider
+{
+	
+	/**
+	 * Returns the language tag of this language, e.g. "en".
+	 * 
+	 * @return the language tag.
+	 */
+	String getLanguageTag();
+	
+	
+	/**
+	 * Returns the sentence segmenter of this language.
+	 * 
+	 * @return the sentence segmenter.
+	 */
+	SentenceSegmenter getSegmenter();
+	
+	
+	/**
+	 * Returns the tokenizer of this language.
+	 * 
+	 * @return the tokenizer.
+	 */
+	Tokenizer getTokenizer();
+	
+	
+	/**
+	 * Returns the word-contraction expander of this language.
+	 * 
+	 * @return the contraction expander.
+	 */
+	ContractionExpander getContractionExpander();
+	
+}
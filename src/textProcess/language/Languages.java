@@ -0,0 +1,129 @@
+package textProcess.language;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Registry of the available language providers,
+ * keyed by language tag. The bundled English, Spanish
+ * and German languages are always available; other
+ * providers are discovered with java.util.ServiceLoader.
+ * 
+ * Providers are only created when first asked for, so
+ * a run in one language never loads another's rules,
+ * and the classpath is only scanned for providers when
+ * a language other than a bundled one is requested.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class Languages
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the tag of the language used when none is chosen.
+	public static final String DEFAULT_LANGUAGE = "en";
+	
+	// Represents the tags of the bundled languages.
+	private static final String[] BUNDLED_LANGUAGES = {"en", "es", "de"};
+	
+	// Represents the mapping between language tags and the providers created so far.
+	private static final Map<String, LanguageProvider> providers = new HashMap<String, LanguageProvider>();
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Private Constructor of the class.
+	 * 
+	 */
+	private Languages() {	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Returns the provider of the default (English) language.
+	 * 
+	 * @return the default language provider.
+	 */
+	public static LanguageProvider getDefault()
+	{ return forTag(DEFAULT_LANGUAGE); }
+	
+	
+	/**
+	 * Returns the provider of a given language.
+	 * 
+	 * @param languageTag	the language tag, e.g. "es".
+	 * 
+	 * @return the language provider.
+	 * 
+	 * @throws IllegalArgumentException if no provider exists for the language.
+	 */
+	public static synchronized LanguageProvider forTag(String languageTag) throws IllegalArgumentException
+	{
+		LanguageProvider provider = providers.get(languageTag);
+		if (provider == null)
+		{
+			provider = createProvider(languageTag);
+			providers.put(languageTag, provider);
+		}
+		return provider;
+	}
+	
+	
+	/**
+	 * Returns the tags of all the available languages.
+	 * 
+	 * @return the available language tags.
+	 */
+	public static Set<String> getLanguageTags()
+	{
+		Set<String> tags = new LinkedHashSet<String>(Arrays.asList(BUNDLED_LANGUAGES));
+		for (LanguageProvider provider : ServiceLoader.load(LanguageProvider.class))
+		{
+			tags.add(provider.getLanguageTag());
+		}
+		return tags;
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that creates the provider
+	 * of a given language.
+	 * 
+	 * @param languageTag	the language tag.
+	 * 
+	 * @return the language provider.
+	 * 
+	 * @throws IllegalArgumentException if no provider exists for the language.
+	 */
+	private static LanguageProvider createProvider(String languageTag) throws IllegalArgumentException
+	{
+		switch (languageTag)
+		{
+			case "en": return new EnglishLanguage();
+			case "es": return new SpanishLanguage();
+			case "de": return new GermanLanguage();
+			default: break;
+		}
+		
+		for (LanguageProvider provider : ServiceLoader.load(LanguageProvider.class))
+		{
+			if (provider.getLanguageTag().equals(languageTag)) { return provider; }
+		}
+		throw new IllegalArgumentException("Unsupported Language: " + languageTag + ", expected one of " + getLanguageTags());
+	}
+	
+}
@@ -0,0 +1,123 @@
+package textProcess.language;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+/**
+ * Contraction expander that applies an ordered list of 
+ * regex search-and-replace rules, each anchored at the
+ * end of a word.
+ * 
+ * Where a rule's regex ends in plain text (e.g. the "'ve" 
+ * of "'ve", or the "'s" of "([Hh]e)'s") that text is kept as
+ * a trigger, and the regex is only run on sentences containing
+ * it; most sentences hold few contractions, so most rules are
+ * skipped with a plain substring search. Each regex is compiled
+ * once, the first time it is needed, so short inputs do not pay
+ * to compile rules they never use.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class RegexContractionExpander implements ContractionExpander
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the characters that give a regex special meaning.
+	private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+	
+	// Represents the contraction regexes, in the order they are applied.
+	private final String[] regexes;
+	
+	// Represents the compiled contraction patterns, filled in as each is first needed.
+	private final AtomicReferenceArray<Pattern> patterns;
+	
+	// Represents the replacement for each contraction pattern.
+	private final String[] replacements;
+	
+	// Represents the text each contraction pattern requires, or null if none is known.
+	private final String[] triggers;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param rules	the ordered mapping between contraction regexes and their replacements.
+	 */
+	public RegexContractionExpander(Map<String, String> rules)
+	{
+		regexes = new String[rules.size()];
+		patterns = new AtomicReferenceArray<Pattern>(rules.size());
+		replacements = new String[rules.size()];
+		triggers = new String[rules.size()];
+		
+		int i = 0;
+		for (Map.Entry<String, String> rule : rules.entrySet())
+		{
+			regexes[i] = rule.getKey() + "\\b";
+			replacements[i] = rule.getValue();
+			triggers[i] = literalSuffix(rule.getKey());
+			i++;
+		}
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String expand(String sentence)
+	{
+		for (int i = 0; i < regexes.length; i++)
+		{
+			if (triggers[i] != null && !sentence.contains(triggers[i])) { continue; }
+			
+			// Compiling twice in a race is harmless, as both patterns are the same.
+			Pattern pattern = patterns.get(i);
+			if (pattern == null)
+			{
+				pattern = Pattern.compile(regexes[i]);
+				patterns.set(i, pattern);
+			}
+			sentence = pattern.matcher(sentence).replaceAll(replacements[i]);
+		}
+		return sentence;
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that returns the plain text ending 
+	 * a regex, after its last group, which any match of the
+	 * regex must contain.
+	 * 
+	 * @param regex	the contraction regex.
+	 * 
+	 * @return	the required text, or null if the regex does not end in plain text.
+	 */
+	private static String literalSuffix(String regex)
+	{
+		// Unicode character classes do not change what plain text matches, but other inline flags may.
+		if (regex.startsWith("(?U)")) { regex = regex.substring(4); }
+		if (regex.contains("(?")) { return null; }
+		
+		String suffix = regex.substring(regex.lastIndexOf(')') + 1);
+		for (char c : suffix.toCharArray())
+		{
+			if (REGEX_METACHARACTERS.indexOf(c) >= 0) { return null; }
+		}
+		return suffix.isEmpty() ? null : suffix;
+	}
+	
+}
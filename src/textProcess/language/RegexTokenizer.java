@@ -0,0 +1,54 @@
+package textProcess.language;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizer that returns every match 
+ * of a single token regex, in order.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class RegexTokenizer implements Tokenizer
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the pattern matching a single token.
+	private final Pattern tokenPattern;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param tokenRegex	the regex matching a single token.
+	 */
+	public RegexTokenizer(String tokenRegex)
+	{
+		tokenPattern = Pattern.compile(tokenRegex);
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<String> tokenize(String sentence)
+	{
+	    Matcher matcher = tokenPattern.matcher(sentence);
+	    List<String> list = new ArrayList<String>();
+	    while (matcher.find()) { list.add(matcher.group()); }
+	    return list;
+	}
+	
+}
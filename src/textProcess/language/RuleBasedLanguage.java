@@ -0,0 +1,128 @@
+package textProcess.language;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Language provider whose segmenter, tokenizer and
+ * contraction expander are built from a rule file,
+ * textProcess/language/rules/LANGUAGE-TAG.rules.
+ * 
+ * The rule file is only read the first time one of
+ * the components is asked for, keeping process startup
+ * free of languages that are never used.
+ * 
+ * @author David Olorundare
+ *
+ */
+public abstract class RuleBasedLanguage implements LanguageProvider
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the language tag of this language.
+	private final String languageTag;
+	
+	// Represents the sentence segmenter of this language.
+	private SentenceSegmenter segmenter;
+	
+	// Represents the tokenizer of this language.
+	private Tokenizer tokenizer;
+	
+	// Represents the contraction expander of this language.
+	private ContractionExpander contractionExpander;
+	
+	// Represents whether the rule file has been loaded, and the components built.
+	private volatile boolean loaded;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param languageTag	the language tag, which names the rule file to load.
+	 */
+	protected RuleBasedLanguage(String languageTag)
+	{
+		this.languageTag = languageTag;
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getLanguageTag()
+	{ return languageTag; }
+	
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SentenceSegmenter getSegmenter()
+	{ 
+		if (!loaded) { load(); }
+		return segmenter; 
+	}
+	
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Tokenizer getTokenizer()
+	{ 
+		if (!loaded) { load(); }
+		return tokenizer; 
+	}
+	
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ContractionExpander getContractionExpander()
+	{ 
+		if (!loaded) { load(); }
+		return contractionExpander; 
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that reads the rule file 
+	 * and builds the components from it, unless
+	 * another thread has already done so.
+	 * 
+	 * @throws IllegalStateException	if the rule file is missing, cannot be read, or is malformed.
+	 */
+	private synchronized void load() throws IllegalStateException
+	{
+		if (loaded) { return; }
+		
+		RuleTable rules;
+		String ruleFile = "rules/" + languageTag + ".rules";
+		try (InputStream ruleStream = RuleBasedLanguage.class.getResourceAsStream(ruleFile))
+		{
+			if (ruleStream == null) { throw new IllegalStateException("Rule File Doesn't Exist: " + ruleFile); }
+			rules = RuleTable.load(ruleStream);
+		}
+		catch (IOException | IllegalArgumentException e) 
+		{ throw new IllegalStateException("Error Reading the Rule File: " + ruleFile, e); }
+		
+		segmenter = new BreakIteratorSegmenter(rules.getLocale());
+		tokenizer = new RegexTokenizer(rules.getTokenRegex());
+		contractionExpander = new RegexContractionExpander(rules.getContractions());
+		loaded = true;
+	}
+	
+}
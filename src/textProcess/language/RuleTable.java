@@ -0,0 +1,129 @@
+package textProcess.language;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This class represents the rule table of a language,
+ * as loaded from a rule file. Each non-blank line of 
+ * the file that is not a '#' comment holds one 
+ * tab-separated rule:
+ * 
+ * locale		LANGUAGE-TAG
+ * token		TOKEN-REGEX
+ * contraction	CONTRACTION-REGEX	REPLACEMENT
+ * 
+ * Contraction rules are applied in the order listed.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class RuleTable
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the locale used for sentence segmentation.
+	private Locale locale;
+	
+	// Represents the regex matching a single token.
+	private String tokenRegex;
+	
+	// Represents the ordered mapping between contraction regexes and their replacements.
+	private final Map<String, String> contractions = new LinkedHashMap<String, String>();
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Private Constructor of the class.
+	 * 
+	 */
+	private RuleTable() {	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Reads a rule table from a stream of rule-file text.
+	 * 
+	 * @param ruleStream	the contents of the rule file.
+	 * 
+	 * @return	the rule table.
+	 * 
+	 * @throws IOException	if an error occurs while reading the rule file.
+	 * @throws IllegalArgumentException	if a rule is malformed, or the locale or token rule is missing.
+	 */
+	public static RuleTable load(InputStream ruleStream) throws IOException, IllegalArgumentException
+	{
+		RuleTable table = new RuleTable();
+		
+		BufferedReader read = new BufferedReader(new InputStreamReader(ruleStream, StandardCharsets.UTF_8));
+		String line;
+		while ((line = read.readLine()) != null)
+		{
+			if (line.trim().length() == 0 || line.startsWith("#")) { continue; }
+			
+			String[] fields = line.split("\t");
+			if (fields[0].equals("locale") && fields.length == 2) 
+			{ table.locale = Locale.forLanguageTag(fields[1]); }
+			else if (fields[0].equals("token") && fields.length == 2) 
+			{ table.tokenRegex = fields[1]; }
+			else if (fields[0].equals("contraction") && fields.length == 3) 
+			{ table.contractions.put(fields[1], fields[2]); }
+			else 
+			{ throw new IllegalArgumentException("Malformed Rule: " + line); }
+		}
+		read.close();
+		
+		if (table.locale == null || table.tokenRegex == null)
+		{ throw new IllegalArgumentException("Rule Table Needs Both a Locale and a Token Rule"); }
+		
+		return table;
+	}
+	
+	
+	/**
+	 * Helper method that returns the locale
+	 * used for sentence segmentation.
+	 * 
+	 * @return the locale.
+	 */
+	public Locale getLocale()
+	{ return locale; }
+	
+	
+	/**
+	 * Helper method that returns the regex
+	 * matching a single token.
+	 * 
+	 * @return the token regex.
+	 */
+	public String getTokenRegex()
+	{ return tokenRegex; }
+	
+	
+	/**
+	 * Helper method that returns the ordered mapping
+	 * between contraction regexes and their replacements.
+	 * 
+	 * @return the contraction rules.
+	 */
+	public Map<String, String> getContractions()
+	{ return contractions; }
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	// No Private Methods.
+	
+}
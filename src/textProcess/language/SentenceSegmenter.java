@@ -0,0 +1,30 @@
+package textProcess.language;
+
+import java.util.List;
+
+/**
+ * This interface represents a language-specific
+ * splitter of paragraphs into sentences.
+ * 
+ * Implementations must be safe to use from 
+ * several threads at once, and the sentences
+ * returned must cover the whole paragraph, in 
+ * order, so their positions in the text can be
+ * worked out from their lengths.
+ * 
+ * @author David Olorundare
+ *
+ */
+public interface SentenceSegmenter
+{
+	
+	/**
+	 * Splits a paragraph of text into its sentences.
+	 * 
+	 * @param textParagraph	the text paragraph to segment.
+	 * 
+	 * @return	list containing the segmented sentences.
+	 */
+	List<String> segment(String textParagraph);
+	
+}
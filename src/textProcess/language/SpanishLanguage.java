@@ -0,0 +1,18 @@
+package textProcess.language;
+
+/**
+ * The Spanish language, as described by the rules/es.rules rule file.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class SpanishLanguage extends RuleBasedLanguage
+{
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 */
+	public SpanishLanguage() { super("es"); }
+	
+}
@@ -0,0 +1,28 @@
+package textProcess.language;
+
+import java.util.List;
+
+/**
+ * This interface represents a language-specific
+ * splitter of sentences into word-tokens and 
+ * punctuation marks.
+ * 
+ * Implementations must be safe to use from 
+ * several threads at once.
+ * 
+ * @author David Olorundare
+ *
+ */
+public interface Tokenizer
+{
+	
+	/**
+	 * Splits a sentence into tokens.
+	 * 
+	 * @param sentence	the sentence to be split into tokens.
+	 * 
+	 * @return	a list of tokens.
+	 */
+	List<String> tokenize(String sentence);
+	
+}
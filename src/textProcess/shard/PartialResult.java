@@ -0,0 +1,227 @@
+package textProcess.shard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import textProcess.compute.MovingTypeTokenRatio;
+import textProcess.structures.AnalyzedData;
+
+/**
+ * This class reads and writes the partial result of
+ * analyzing one shard of a text: its paragraph, sentence 
+ * and token counts, its moving-average type-token ratio (with 
+ * the words needed to merge it with the neighbouring shards'), and
+ * its word frequencies sorted by word, so the partial results
+ * of all shards can be merged in a single pass.
+ * 
+ * A reader is a cursor over the words of a partial result
+ * file, which only holds the current word in memory.
+ * 
+ * @author David Olorundare
+ *
+ */
+final class PartialResult implements Closeable
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the first bytes of a partial result file.
+	private static final int MAGIC = 0x54505332;
+	
+	// Represents the size of the file buffers.
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	// Represents the stream of the partial result file.
+	private final DataInputStream read;
+	
+	// Represents the counts of the shard.
+	private final int paragraphs;
+	private final int sentences;
+	private final long tokens;
+	
+	// Represents the moving-average type-token ratio of the shard.
+	private final MovingTypeTokenRatio movingRatio;
+	
+	// Represents the number of words not yet read.
+	private int wordsLeft;
+	
+	// Represents the current word and its frequency.
+	private String word;
+	private int frequency;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class, opening a partial result 
+	 * file and reading its counts.
+	 * 
+	 * @param file	the partial result file.
+	 * 
+	 * @throws IOException	if an error occurs while reading the file, or it is not a partial result.
+	 */
+	PartialResult(File file) throws IOException
+	{
+		read = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+		if (read.readInt() != MAGIC) 
+		{ 
+			read.close();
+			throw new IOException("Not a Partial Result File: " + file); 
+		}
+		
+		paragraphs = read.readInt();
+		sentences = read.readInt();
+		tokens = read.readLong();
+		movingRatio = MovingTypeTokenRatio.readFrom(read);
+		wordsLeft = read.readInt();
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Writes the partial result of analyzing a shard.
+	 * 
+	 * @param file			the partial result file to write.
+	 * @param results		the results of analyzing the shard.
+	 * @param movingRatio	the moving-average type-token ratio of the shard.
+	 * 
+	 * @throws IOException	if an error occurs while writing the file.
+	 */
+	static void write(File file, AnalyzedData results, MovingTypeTokenRatio movingRatio) throws IOException
+	{
+		List<String> words = new ArrayList<String>(results.getWords().keySet());
+		Collections.sort(words);
+		
+		DataOutputStream write = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+		try
+		{
+			write.writeInt(MAGIC);
+			write.writeInt(results.getNumberOfParagraphs());
+			write.writeInt(results.getNumberOfSentences());
+			write.writeLong(results.getNumberOfTokens());
+			movingRatio.writeTo(write);
+			write.writeInt(words.size());
+			
+			Map<String, Integer> frequencies = results.getWords();
+			for (String word : words)
+			{
+				// Length-prefixed UTF-8, as a token may be longer than writeUTF() allows.
+				byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+				write.writeInt(bytes.length);
+				write.write(bytes);
+				write.writeInt(frequencies.get(word));
+			}
+		}
+		finally { write.close(); }
+	}
+	
+	
+	/**
+	 * Moves to the next word of the partial result.
+	 * 
+	 * @return	false if there are no more words.
+	 * 
+	 * @throws IOException	if an error occurs while reading the file.
+	 */
+	boolean advance() throws IOException
+	{
+		if (wordsLeft == 0) 
+		{ 
+			word = null;
+			return false; 
+		}
+		
+		byte[] bytes = new byte[read.readInt()];
+		read.readFully(bytes);
+		word = new String(bytes, StandardCharsets.UTF_8);
+		frequency = read.readInt();
+		wordsLeft--;
+		return true;
+	}
+	
+	
+	/**
+	 * Helper method that returns the current word.
+	 * 
+	 * @return the current word, or null once all words are read.
+	 */
+	String getWord()
+	{ return word; }
+	
+	
+	/**
+	 * Helper method that returns the frequency
+	 * of the current word in the shard.
+	 * 
+	 * @return the frequency of the current word.
+	 */
+	int getFrequency()
+	{ return frequency; }
+	
+	
+	/**
+	 * Helper method that returns the number 
+	 * of paragraphs in the shard.
+	 * 
+	 * @return the number of paragraphs.
+	 */
+	int getNumberOfParagraphs()
+	{ return paragraphs; }
+	
+	
+	/**
+	 * Helper method that returns the number 
+	 * of sentences in the shard.
+	 * 
+	 * @return the number of sentences.
+	 */
+	int getNumberOfSentences()
+	{ return sentences; }
+	
+	
+	/**
+	 * Helper method that returns the number 
+	 * of tokens in the shard.
+	 * 
+	 * @return the number of tokens.
+	 */
+	long getNumberOfTokens()
+	{ return tokens; }
+	
+	
+	/**
+	 * Helper method that returns the moving-average
+	 * type-token ratio of the shard.
+	 * 
+	 * @return the moving-average type-token ratio, to be merged in text order.
+	 */
+	MovingTypeTokenRatio getMovingTypeTokenRatio()
+	{ return movingRatio; }
+	
+	
+	/**
+	 * Closes the partial result file.
+	 * 
+	 * @throws IOException	if an error occurs while closing the file.
+	 */
+	@Override
+	public void close() throws IOException
+	{ read.close(); }
+	
+}
@@ -0,0 +1,393 @@
+package textProcess.shard;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.sun.management.OperatingSystemMXBean;
+
+import textProcess.compute.FrequencySpectrum;
+import textProcess.compute.MovingTypeTokenRatio;
+import textProcess.compute.VocabularyTracker;
+import textProcess.language.LanguageProvider;
+import textProcess.structures.AnalyzedData;
+import textProcess.structures.OffHeapVocabulary;
+
+/**
+ * This class analyzes a text file in shards, each analyzed 
+ * by a separate worker JVM on the local machine, so no single
+ * process has to hold the whole text's analysis state.
+ * 
+ * The file is split into byte ranges of about equal size, each 
+ * starting just after a blank line, so no paragraph is split; 
+ * this assumes the platform's default charset encodes line breaks
+ * and spaces as single ASCII bytes (e.g. UTF-8 or ISO-8859-1). Each
+ * worker writes a partial result with its words sorted, and the 
+ * partial results are merged in one k-way pass, so the results equal
+ * those of analyzing the whole file in one process, including the
+ * moving-average type-token ratio, whose windows spanning two shards
+ * are counted as the shards are merged. The merged words are streamed
+ * into an OffHeapVocabulary, so the merging process does not hold the
+ * whole vocabulary on its heap either.
+ * 
+ * Unless JVM options are given, each worker may use an equal share of
+ * the machine's physical memory left over by this process's heap.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class ShardCoordinator
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the size of the buffer used to find shard boundaries.
+	private static final int SCAN_BUFFER_SIZE = 1 << 16;
+	
+	// Represents the least heap given to a worker, in megabytes.
+	private static final long MIN_WORKER_HEAP_MB = 256;
+	
+	// Represents the most shards the file is split into.
+	private final int shards;
+	
+	// Represents the JVM options of the worker processes, e.g. their heap size.
+	private final List<String> workerOptions;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class, starting workers with
+	 * an equal share of the memory left to them as their
+	 * largest heap.
+	 * 
+	 * @param shards	the most shards (and worker processes) the file is split into.
+	 * 
+	 * @throws IllegalArgumentException if the number of shards is not positive.
+	 */
+	public ShardCoordinator(int shards) throws IllegalArgumentException
+	{
+		this(shards, defaultWorkerOptions(shards));
+	}
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param shards		the most shards (and worker processes) the file is split into.
+	 * @param workerOptions	the JVM options of the worker processes, e.g. -Xmx2g.
+	 * 
+	 * @throws IllegalArgumentException if the number of shards is not positive.
+	 */
+	public ShardCoordinator(int shards, List<String> workerOptions) throws IllegalArgumentException
+	{
+		if (shards < 1) { throw new IllegalArgumentException("Number of Shards Must Be Positive"); }
+		
+		this.shards = shards;
+		this.workerOptions = new ArrayList<String>(workerOptions);
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Performs text analysis on a text file, one shard
+	 * per worker process, and merges the shards' results,
+	 * keeping the words in direct memory outside the heap.
+	 * 
+	 * @param filePath	the file containing the text to be analyzed.
+	 * @param language	the language of the text; it must be available to the workers by its tag.
+	 * 
+	 * @return	structure containing the results of text analysis, whose vocabulary is to be closed by the caller.
+	 * 
+	 * @throws IOException	if an error occurs while reading the file, a worker fails, or the analysis is interrupted.
+	 * @throws ArithmeticException	if the text has more tokens or types than an int holds.
+	 */
+	public AnalyzedData analyze(String filePath, LanguageProvider language) throws IOException, ArithmeticException
+	{
+		OffHeapVocabulary vocabulary = new OffHeapVocabulary();
+		try { return analyze(filePath, language, vocabulary); }
+		catch (IOException | RuntimeException e)
+		{
+			vocabulary.close();
+			throw e;
+		}
+	}
+	
+	
+	/**
+	 * Performs text analysis on a text file, one shard
+	 * per worker process, and merges the shards' results
+	 * into the given vocabulary, such as one backed by a
+	 * memory-mapped scratch file.
+	 * 
+	 * @param filePath		the file containing the text to be analyzed.
+	 * @param language		the language of the text; it must be available to the workers by its tag.
+	 * @param vocabulary	the new, empty vocabulary the merged words are kept in.
+	 * 
+	 * @return	structure containing the results of text analysis.
+	 * 
+	 * @throws IOException	if an error occurs while reading the file, a worker fails, or the analysis is interrupted.
+	 * @throws ArithmeticException	if the text has more tokens or types than an int holds.
+	 */
+	public AnalyzedData analyze(String filePath, LanguageProvider language, OffHeapVocabulary vocabulary) throws IOException, ArithmeticException
+	{
+		long[] bounds = splitPoints(new File(filePath));
+		File directory = Files.createTempDirectory("textProcess-shards").toFile();
+		List<File> partials = new ArrayList<File>();
+		List<Process> workers = new ArrayList<Process>();
+		
+		try
+		{
+			for (int i = 0; i + 1 < bounds.length; i++)
+			{
+				File partial = new File(directory, "shard-" + i + ".part");
+				partials.add(partial);
+				workers.add(startWorker(filePath, bounds[i], bounds[i + 1], partial, language.getLanguageTag()));
+			}
+			
+			for (int i = 0; i < workers.size(); i++)
+			{
+				int status = workers.get(i).waitFor();
+				if (status != 0) { throw new IOException("Shard " + i + " Failed With Exit Status " + status); }
+			}
+			
+			return merge(partials, vocabulary);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Sharded Analysis Was Interrupted", e);
+		}
+		finally
+		{
+			for (Process worker : workers) { worker.destroy(); }
+			for (File partial : partials) { partial.delete(); }
+			directory.delete();
+		}
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that returns the JVM options giving each
+	 * of the workers an equal share of the machine's physical
+	 * memory, less this process's largest heap, as its largest
+	 * heap; none if the physical memory is not known.
+	 */
+	private static List<String> defaultWorkerOptions(int shards)
+	{
+		if (shards < 1 || !(ManagementFactory.getOperatingSystemMXBean() instanceof OperatingSystemMXBean)) { return Collections.<String>emptyList(); }
+		
+		long physical = ((OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getTotalMemorySize();
+		long share = Math.max(0, physical - Runtime.getRuntime().maxMemory()) / shards;
+		return Collections.singletonList("-Xmx" + Math.max(MIN_WORKER_HEAP_MB, share >> 20) + "m");
+	}
+	
+	
+	/**
+	 * Helper method that splits a file into byte 
+	 * ranges of about equal size, aligned to paragraphs.
+	 * 
+	 * @param input	the file to split.
+	 * 
+	 * @return	the boundaries of the shards, from 0 to the length of the file.
+	 * 
+	 * @throws IOException	if an error occurs while reading the file.
+	 */
+	private long[] splitPoints(File input) throws IOException
+	{
+		long length = input.length();
+		List<Long> points = new ArrayList<Long>();
+		points.add(0L);
+		
+		RandomAccessFile file = new RandomAccessFile(input, "r");
+		try
+		{
+			for (int i = 1; i < shards; i++)
+			{
+				// A long paragraph may have carried the previous shard past this one's start.
+				long target = length * i / shards;
+				if (target <= points.get(points.size() - 1)) { continue; }
+				
+				long boundary = nextParagraphBoundary(file, target);
+				if (boundary >= length) { break; }
+				points.add(boundary);
+			}
+		}
+		finally { file.close(); }
+		
+		points.add(length);
+		long[] bounds = new long[points.size()];
+		for (int i = 0; i < bounds.length; i++) { bounds[i] = points.get(i); }
+		return bounds;
+	}
+	
+	
+	/**
+	 * Helper method that finds the first position, at or after 
+	 * the given one, that follows the line break ending a blank 
+	 * line. The line the search starts in never counts as blank, 
+	 * as its start is not known.
+	 * 
+	 * @param file	the file to search.
+	 * @param from	the position to search from.
+	 * 
+	 * @return	the position found, or the length of the file if there is none.
+	 * 
+	 * @throws IOException	if an error occurs while reading the file.
+	 */
+	private static long nextParagraphBoundary(RandomAccessFile file, long from) throws IOException
+	{
+		file.seek(from);
+		InputStream read = new BufferedInputStream(Channels.newInputStream(file.getChannel()), SCAN_BUFFER_SIZE);
+		
+		long position = from;
+		boolean blank = false;
+		int b = read.read();
+		while (b != -1)
+		{
+			int next = read.read();
+			
+			// A CR-LF pair is a single line break, ending at the LF.
+			if (b == '\r' && next == '\n')
+			{
+				position++;
+				b = next;
+				next = read.read();
+			}
+			
+			if (b == '\n' || b == '\r')
+			{
+				if (blank) { return position + 1; }
+				blank = true;
+			}
+			else if (b > ' ') { blank = false; }
+			
+			position++;
+			b = next;
+		}
+		return file.length();
+	}
+	
+	
+	/**
+	 * Helper method that starts a worker process 
+	 * analyzing one shard of the file.
+	 * 
+	 * @throws IOException	if the process cannot be started.
+	 */
+	private Process startWorker(String filePath, long start, long end, File partial, String languageTag) throws IOException
+	{
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		
+		// Workers must decode the text the same way as this process.
+		command.add("-Dfile.encoding=" + Charset.defaultCharset().name());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.addAll(workerOptions);
+		command.add(ShardWorker.class.getName());
+		command.add(filePath);
+		command.add(Long.toString(start));
+		command.add(Long.toString(end));
+		command.add(partial.getPath());
+		command.add(languageTag);
+		
+		return new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+	}
+	
+	
+	/**
+	 * Helper method that merges the partial results of all
+	 * shards, combining each word's frequencies in a k-way 
+	 * merge of the shards' sorted words, and adding each
+	 * merged word to the vocabulary as it is found.
+	 * 
+	 * @param partials		the partial result files, in text order.
+	 * @param vocabulary	the new, empty vocabulary the merged words are kept in.
+	 * 
+	 * @return	structure containing the results of text analysis.
+	 * 
+	 * @throws IOException	if an error occurs while reading a partial result.
+	 */
+	private static AnalyzedData merge(List<File> partials, OffHeapVocabulary vocabulary) throws IOException
+	{
+		PriorityQueue<PartialResult> queue = new PriorityQueue<PartialResult>(partials.size(), (first, second) -> first.getWord().compareTo(second.getWord()));
+		List<PartialResult> results = new ArrayList<PartialResult>();
+		
+		int paragraphs = 0;
+		int sentences = 0;
+		long tokens = 0;
+		MovingTypeTokenRatio movingRatio = new MovingTypeTokenRatio(MovingTypeTokenRatio.DEFAULT_WINDOW_SIZE);
+		FrequencySpectrum spectrum = new FrequencySpectrum();
+		
+		try
+		{
+			for (File partial : partials)
+			{
+				PartialResult result = new PartialResult(partial);
+				results.add(result);
+				
+				paragraphs += result.getNumberOfParagraphs();
+				sentences += result.getNumberOfSentences();
+				tokens += result.getNumberOfTokens();
+				
+				movingRatio.merge(result.getMovingTypeTokenRatio());
+				
+				if (result.advance()) { queue.add(result); }
+			}
+			
+			while (!queue.isEmpty())
+			{
+				PartialResult smallest = queue.poll();
+				String word = smallest.getWord();
+				int frequency = smallest.getFrequency();
+				if (smallest.advance()) { queue.add(smallest); }
+				
+				while (!queue.isEmpty() && queue.peek().getWord().equals(word))
+				{
+					PartialResult same = queue.poll();
+					frequency = Math.addExact(frequency, same.getFrequency());
+					if (same.advance()) { queue.add(same); }
+				}
+				
+				vocabulary.add(word, frequency);
+				spectrum.add(frequency);
+			}
+		}
+		finally
+		{
+			for (PartialResult result : results) { result.close(); }
+		}
+		
+		// Each shard counts the end of its text as ending a paragraph, but only the last shard ends the file.
+		int types = Math.toIntExact(vocabulary.size());
+		AnalyzedData merged = new AnalyzedData();
+		merged.setNumberOfParagraphs(paragraphs - (partials.size() - 1));
+		merged.setNumberOfSentences(sentences);
+		merged.setNumberOfTokens(Math.toIntExact(tokens));
+		merged.setNumberOfTypes(types);
+		merged.setVocabulary(vocabulary);
+		
+		merged.setVocabularyStatistics(VocabularyTracker.toStatistics(tokens, types, spectrum, movingRatio));
+		
+		return merged;
+	}
+	
+}
@@ -0,0 +1,120 @@
+package textProcess.shard;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+
+import textProcess.compute.TextAnalyzer;
+import textProcess.language.Languages;
+import textProcess.structures.AnalyzedData;
+
+
+/**
+ * Worker process of a sharded text analysis, started by 
+ * a ShardCoordinator. It analyzes one byte range of the input
+ * file, read in the platform's default charset, with the 
+ * single-threaded analysis, and writes the partial result to
+ * a file for the coordinator to merge.
+ * 
+ * :EXAMPLE USAGE:
+ * 
+ * java textProcess.shard.ShardWorker <input_file_containing_text> <start_byte> <end_byte> <partial_result_file> <language_tag>
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class ShardWorker
+{
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Private Constructor of the class.
+	 * 
+	 */
+	private ShardWorker() {	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length != 5)
+		{
+			System.out.println(":Usage: java textProcess.shard.ShardWorker <input_file_containing_text> <start_byte> <end_byte> <partial_result_file> <language_tag>");
+			System.exit(2);
+		}
+		
+		long start = Long.parseLong(args[1]);
+		long end = Long.parseLong(args[2]);
+		
+		RandomAccessFile input = new RandomAccessFile(args[0], "r");
+		input.seek(start);
+		BufferedReader read = new BufferedReader(new InputStreamReader(new RangeInputStream(Channels.newInputStream(input.getChannel()), end - start)));
+		
+		TextAnalyzer analyzer = TextAnalyzer.getInstance();
+		analyzer.setLanguage(Languages.forTag(args[4]));
+		
+		// The analysis closes the stream, and with it the file.
+		AnalyzedData results = analyzer.analyzeText(read);
+		PartialResult.write(new File(args[3]), results, analyzer.getMovingTypeTokenRatio());
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * A stream that ends after a given number of bytes
+	 * of another stream.
+	 */
+	private static final class RangeInputStream extends FilterInputStream
+	{
+		// Represents the number of bytes left to read.
+		private long remaining;
+		
+		RangeInputStream(InputStream in, long length)
+		{
+			super(in);
+			remaining = length;
+		}
+		
+		@Override
+		public int read() throws IOException
+		{
+			if (remaining <= 0) { return -1; }
+			int b = super.read();
+			if (b >= 0) { remaining--; }
+			return b;
+		}
+		
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException
+		{
+			if (remaining <= 0) { return -1; }
+			int count = super.read(buffer, offset, (int) Math.min(length, remaining));
+			if (count > 0) { remaining -= count; }
+			return count;
+		}
+		
+		@Override
+		public long skip(long n) throws IOException
+		{
+			long skipped = super.skip(Math.min(n, remaining));
+			remaining -= skipped;
+			return skipped;
+		}
+		
+		@Override
+		public int available() throws IOException
+		{ return (int) Math.min(super.available(), remaining); }
+	}
+	
+}
@@ -0,0 +1,67 @@
+package textProcess.structures;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Word counter backed by a single shared
+ * ConcurrentHashMap of LongAdder counters.
+ *
+ * @author David Olorundare
+ *
+ */
+public final class AdderWordCounter implements WordCounter
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the mapping between words and their (striped) frequency counters.
+	private final ConcurrentHashMap<String, LongAdder> counts = new ConcurrentHashMap<String, LongAdder>();
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void increment(String word)
+	{ add(word, 1); }
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(String word, long amount)
+	{
+		// Plain lookup first, since computeIfAbsent locks the bin even when the key exists.
+		LongAdder count = counts.get(word);
+		if (count == null)
+		{ count = counts.computeIfAbsent(word, k -> new LongAdder()); }
+		count.add(amount);
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, Integer> toMap(IntConsumer frequencies) throws ArithmeticException
+	{
+		Map<String, Integer> result = new HashMap<String, Integer>(counts.size() * 2);
+		for (Map.Entry<String, LongAdder> entry : counts.entrySet())
+		{
+			int frequency = Math.toIntExact(entry.getValue().sum());
+			result.put(entry.getKey(), frequency);
+			frequencies.accept(frequency);
+		}
+		return result;
+	}
+
+}
@@ -31,6 +31,24 @@ public class AnalyzedData
 	// Represents the mapping between word-types in the analyzed text and their frequency.
 	private Map<String, Integer> types = new HashMap<String, Integer>();
 	
+	// Represents the word-to-frequency mapping kept outside the heap, if the text was counted into one.
+	private OffHeapVocabulary vocabulary;
+	
+	// Represents the lexical-richness statistics of the vocabulary of the text.
+	private VocabularyStatistics vocabularyStatistics;
+	
+	// Represents the index of where each sentence lies in the text, if sentences were recorded.
+	private SentenceIndex sentenceIndex;
+	
+	// Represents the number of tokens in each sentence, if sentences were recorded.
+	private Histogram sentenceLengths;
+	
+	// Represents the number of sentences in each paragraph, if sentences were recorded.
+	private Histogram paragraphLengths;
+	
+	// Represents the number of characters in each token, if sentences were recorded.
+	private Histogram tokenLengths;
+	
 	
 	//============================================ CONSTRUCTOR =============================================================
 	
@@ -55,6 +73,21 @@ public class AnalyzedData
 	{ types = value; }
 	
 	
+	/**
+	 * Helper method that sets the word-to-frequency
+	 * mapping of an analyzed text when it is kept
+	 * outside the heap, in place of the mapping of
+	 * setWords().
+	 * 
+	 * @param value the off-heap vocabulary to set.
+	 */
+	public void setVocabulary(OffHeapVocabulary value) 
+	{ 
+		vocabulary = value;
+		types = null;
+	}
+	
+	
 	/**
 	 * Helper method that sets the number
 	 * of paragraphs in the analyzed text.
@@ -95,6 +128,56 @@ public class AnalyzedData
 	{ numberOfTypes = value; }
 		
 	
+	/**
+	 * Helper method that sets the lexical-richness
+	 * statistics of the analyzed text's vocabulary.
+	 * 
+	 * @param value the vocabulary statistics of the text.
+	 */
+	public void setVocabularyStatistics(VocabularyStatistics value) 
+	{ vocabularyStatistics = value; }
+	
+	
+	/**
+	 * Helper method that sets the index of
+	 * the sentences in the analyzed text.
+	 * 
+	 * @param value the sentence index of the text.
+	 */
+	public void setSentenceIndex(SentenceIndex value) 
+	{ sentenceIndex = value; }
+	
+	
+	/**
+	 * Helper method that sets the histogram of the
+	 * number of tokens in each sentence.
+	 * 
+	 * @param value the sentence length histogram.
+	 */
+	public void setSentenceLengths(Histogram value) 
+	{ sentenceLengths = value; }
+	
+	
+	/**
+	 * Helper method that sets the histogram of the
+	 * number of sentences in each paragraph.
+	 * 
+	 * @param value the paragraph length histogram.
+	 */
+	public void setParagraphLengths(Histogram value) 
+	{ paragraphLengths = value; }
+	
+	
+	/**
+	 * Helper method that sets the histogram of the
+	 * number of characters in each token.
+	 * 
+	 * @param value the token length histogram.
+	 */
+	public void setTokenLengths(Histogram value) 
+	{ tokenLengths = value; }
+	
+	
 	/**
 	 * Helper method that returns the number
 	 * of sentences in the analyzed text.
@@ -139,10 +222,80 @@ public class AnalyzedData
 	 * Helper method that returns the word-
 	 * to-frequency mapping in an analyzed text.
 	 * 
+	 * If the mapping is kept outside the heap, it is
+	 * copied onto the heap the first time it is asked for.
+	 * 
 	 * @return the word-to-frequency mapping.
 	 */
 	public Map<String, Integer> getWords() 
-	{ return types; }
+	{ 
+		if (types == null && vocabulary != null) { types = vocabulary.toMap(); }
+		return types; 
+	}
+	
+	
+	/**
+	 * Helper method that returns the word-to-frequency
+	 * mapping of the analyzed text if it is kept outside
+	 * the heap.
+	 * 
+	 * @return the off-heap vocabulary, or null if the mapping is only on the heap.
+	 */
+	public OffHeapVocabulary getVocabulary() 
+	{ return vocabulary; }
+	
+	
+	/**
+	 * Helper method that returns the lexical-richness
+	 * statistics of the analyzed text's vocabulary: 
+	 * type-token ratios, hapax and dis legomena, the 
+	 * frequency spectrum and a fit of Zipf's law.
+	 * 
+	 * @return the vocabulary statistics of the text.
+	 */
+	public VocabularyStatistics getVocabularyStatistics() 
+	{ return vocabularyStatistics; }
+	
+	
+	/**
+	 * Helper method that returns the index of the
+	 * byte offset, byte length and token count of 
+	 * every sentence in the analyzed text.
+	 * 
+	 * @return the sentence index, or null if sentences were not recorded.
+	 */
+	public SentenceIndex getSentenceIndex() 
+	{ return sentenceIndex; }
+	
+	
+	/**
+	 * Helper method that returns the histogram of
+	 * the number of tokens in each sentence.
+	 * 
+	 * @return the sentence length histogram, or null if sentences were not recorded.
+	 */
+	public Histogram getSentenceLengths() 
+	{ return sentenceLengths; }
+	
+	
+	/**
+	 * Helper method that returns the histogram of
+	 * the number of sentences in each paragraph.
+	 * 
+	 * @return the paragraph length histogram, or null if sentences were not recorded.
+	 */
+	public Histogram getParagraphLengths() 
+	{ return paragraphLengths; }
+	
+	
+	/**
+	 * Helper method that returns the histogram of
+	 * the number of characters in each token.
+	 * 
+	 * @return the token length histogram, or null if sentences were not recorded.
+	 */
+	public Histogram getTokenLengths() 
+	{ return tokenLengths; }
 
 		
 	//============================================ PRIVATE METHODS =============================================================
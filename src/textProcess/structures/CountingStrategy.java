@@ -0,0 +1,67 @@
+package textProcess.structures;
+
+/**
+ * This enum represents the available strategies
+ * for aggregating word frequencies while text is
+ * analyzed by several threads.
+ *
+ * @author David Olorundare
+ *
+ */
+public enum CountingStrategy
+{
+
+	// Each thread counts into its own HashMap; the maps are merged serially at the end.
+	MERGE
+	{
+		public WordCounter newCounter() { return new MergingWordCounter(); }
+	},
+
+	// All threads share a ConcurrentHashMap of LongAdder counters.
+	ADDER
+	{
+		public WordCounter newCounter() { return new AdderWordCounter(); }
+	},
+
+	// All threads share a segmented open-addressing table updated with CAS on primitive counters.
+	STRIPED
+	{
+		public WordCounter newCounter() { return new StripedWordCounter(); }
+	},
+
+	// All threads share one vocabulary kept in direct memory, outside the heap; counting is serialized.
+	OFFHEAP
+	{
+		public WordCounter newCounter() { return new OffHeapVocabulary(); }
+	};
+
+
+	/**
+	 * Creates a new, empty word counter
+	 * implementing this strategy.
+	 *
+	 * @return a new word counter.
+	 */
+	public abstract WordCounter newCounter();
+
+
+	/**
+	 * Returns the strategy with the given name,
+	 * ignoring case.
+	 *
+	 * @param name	the name of the strategy, e.g. "striped".
+	 *
+	 * @return the matching counting strategy.
+	 *
+	 * @throws IllegalArgumentException if no strategy has the given name.
+	 */
+	public static CountingStrategy fromName(String name) throws IllegalArgumentException
+	{
+		for (CountingStrategy strategy : values())
+		{
+			if (strategy.name().equalsIgnoreCase(name)) { return strategy; }
+		}
+		throw new IllegalArgumentException("Unknown Counting Strategy: " + name);
+	}
+
+}
@@ -0,0 +1,105 @@
+package textProcess.structures;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a histogram of non-negative
+ * integer values, e.g. the lengths of the sentences
+ * in a text, counted in a primitive array that grows
+ * to fit the largest value seen.
+ * 
+ * @author David Olorundare
+ *
+ */
+public class Histogram
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the number of times each value has been seen.
+	private long[] counts = new long[32];
+	
+	// Represents the largest value seen.
+	private int maxValue = -1;
+	
+	// Represents the number of values seen.
+	private long total;
+	
+	// Represents the sum of the values seen.
+	private long sum;
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that counts one occurrence of a value.
+	 * 
+	 * @param value the value to count.
+	 */
+	public void add(int value)
+	{
+		if (value >= counts.length) { counts = Arrays.copyOf(counts, Math.max(counts.length * 2, value + 1)); }
+		counts[value]++;
+		if (value > maxValue) { maxValue = value; }
+		total++;
+		sum += value;
+	}
+	
+	
+	/**
+	 * Helper method that returns the number
+	 * of times a value has been seen.
+	 * 
+	 * @param value the value.
+	 * 
+	 * @return the number of occurrences of the value.
+	 */
+	public long getCount(int value)
+	{ return (value >= 0 && value <= maxValue) ? counts[value] : 0; }
+	
+	
+	/**
+	 * Helper method that returns the number
+	 * of values seen.
+	 * 
+	 * @return the number of values.
+	 */
+	public long getTotal()
+	{ return total; }
+	
+	
+	/**
+	 * Helper method that returns the largest value seen.
+	 * 
+	 * @return the largest value, or -1 if none has been seen.
+	 */
+	public int getMaxValue()
+	{ return maxValue; }
+	
+	
+	/**
+	 * Helper method that returns the mean of the values seen.
+	 * 
+	 * @return the mean value, or 0 if none has been seen.
+	 */
+	public double getMean()
+	{ return (total == 0) ? 0 : (double) sum / total; }
+	
+	
+	/**
+	 * Helper method that returns the counts of every
+	 * value from 0 up to the largest value seen.
+	 * 
+	 * @return a copy of the counts, indexed by value.
+	 */
+	public long[] toArray()
+	{ return Arrays.copyOf(counts, maxValue + 1); }
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	// No Private Methods.
+	
+}
@@ -0,0 +1,87 @@
+package textProcess.structures;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * Word counter in which every thread counts into
+ * its own private HashMap, the per-thread maps
+ * being merged serially once counting is done.
+ *
+ * Increments never contend, but memory grows with
+ * the number of threads and the final merge is
+ * single-threaded.
+ *
+ * @author David Olorundare
+ *
+ */
+public final class MergingWordCounter implements WordCounter
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents every per-thread map created so far, for merging at the end.
+	private final Queue<Map<String, long[]>> threadMaps = new ConcurrentLinkedQueue<Map<String, long[]>>();
+
+	// Represents the calling thread's own word-to-frequency map.
+	private final ThreadLocal<Map<String, long[]>> localMap = ThreadLocal.withInitial(() ->
+	{
+		Map<String, long[]> map = new HashMap<String, long[]>();
+		threadMaps.add(map);
+		return map;
+	});
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void increment(String word)
+	{ add(word, 1); }
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(String word, long amount)
+	{
+		Map<String, long[]> map = localMap.get();
+		long[] count = map.get(word);
+		if (count == null)
+		{
+			count = new long[1];
+			map.put(word, count);
+		}
+		count[0] += amount;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, Integer> toMap(IntConsumer frequencies) throws ArithmeticException
+	{
+		Map<String, Integer> merged = new HashMap<String, Integer>();
+		for (Map<String, long[]> map : threadMaps)
+		{
+			for (Map.Entry<String, long[]> entry : map.entrySet())
+			{
+				merged.merge(entry.getKey(), Math.toIntExact(entry.getValue()[0]), Math::addExact);
+			}
+		}
+		
+		// A word may be counted by several threads, so its frequency is only known once every map is merged.
+		for (int frequency : merged.values()) { frequencies.accept(frequency); }
+		return merged;
+	}
+
+}
@@ -0,0 +1,790 @@
+package textProcess.structures;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Word counter keeping its whole vocabulary outside the
+ * Java heap, for texts with so many distinct tokens that a
+ * map of String keys and Integer counts would make garbage
+ * collection slow or fail to fit in the heap.
+ *
+ * Each word is stored once in an arena of large buffers, as its
+ * count, hash code and UTF-8 bytes, and found through an
+ * open-addressing (linear probing) hash index of arena addresses,
+ * held in buffers of its own. So the collector sees a few dozen
+ * buffer objects however large the vocabulary grows.
+ *
+ * The buffers are either direct memory (limited by the JVM's
+ * -XX:MaxDirectMemorySize, which defaults to the maximum heap size)
+ * or regions of a memory-mapped scratch file, which lets the
+ * operating system page the vocabulary out to disk so vocabularies
+ * larger than the machine's memory still complete. The regions of the
+ * index file given up when the index grows, or by an earlier sorted
+ * order, are reused for later ones. The scratch files are deleted when
+ * the vocabulary is closed, or when the JVM exits.
+ *
+ * Counting is synchronized, so several analysis threads may share
+ * one vocabulary, though their counting is serialized.
+ *
+ * @author David Olorundare
+ *
+ */
+public final class OffHeapVocabulary implements WordCounter, Closeable
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the number of bits of an address within an arena page; pages hold at most 64 MB.
+	private static final int PAGE_BITS = 26;
+
+	// Represents the number of bits of the size of the first arena page (1 MB); each page is twice the size of the one before, up to 64 MB.
+	private static final int FIRST_PAGE_BITS = 20;
+
+	// Represents the number of bits of a slot number within a page of slots; pages hold at most 8M slots (64 MB).
+	private static final int SLOT_PAGE_BITS = 23;
+
+	// Represents the initial number of slots of the hash index; must be a power of two.
+	private static final int INITIAL_SLOTS = 1 << 16;
+
+	// Represents the size of the header of an entry: its count (8 bytes), hash code and length in bytes (4 bytes each).
+	private static final int HEADER_SIZE = 16;
+
+	// Represents the pages of the arena holding the entries.
+	private final List<ByteBuffer> arena = new ArrayList<ByteBuffer>();
+
+	// Represents the number of bytes used in each page of the arena.
+	private int[] pageUsed = new int[16];
+
+	// Represents the hash index, holding the arena address plus one of an entry in each used slot, or 0.
+	private LongPages index;
+
+	// Represents the number of distinct words.
+	private long distinct;
+
+	// Represents the total of the counts of all words.
+	private long total;
+
+	// Represents the UTF-8 bytes of the word being counted.
+	private byte[] scratch = new byte[256];
+
+	// Represents the scratch files backing the arena and the index, or null for direct memory.
+	private File arenaPath;
+	private File indexPath;
+	private FileChannel arenaFile;
+	private FileChannel indexFile;
+
+	// Represents the length of each scratch file mapped so far.
+	private long arenaFileEnd;
+	private long indexFileEnd;
+
+	// Represents the regions of the index scratch file no longer in use, as pairs of start and length, ordered by start.
+	private final List<long[]> freeIndexRegions = new ArrayList<long[]>();
+
+	// Represents the order last returned by sortedByFrequency(), whose memory is reused by the next call.
+	private LongPages lastOrder;
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Constructor of the class, keeping the
+	 * vocabulary in direct memory.
+	 *
+	 */
+	public OffHeapVocabulary()
+	{
+		index = newLongPages(INITIAL_SLOTS);
+	}
+
+
+	/**
+	 * Constructor of the class, keeping the vocabulary in a
+	 * memory-mapped scratch file, and its index in a second
+	 * file of the same name ending in .index.
+	 *
+	 * @param backingFile	the scratch file; any existing content is discarded.
+	 *
+	 * @throws IOException	if the scratch files cannot be created.
+	 */
+	public OffHeapVocabulary(File backingFile) throws IOException
+	{
+		arenaPath = backingFile;
+		indexPath = new File(backingFile.getPath() + ".index");
+		arenaFile = openScratchFile(arenaPath);
+		indexFile = openScratchFile(indexPath);
+		index = newLongPages(INITIAL_SLOTS);
+	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void increment(String word)
+	{ add(word, 1); }
+
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UncheckedIOException	if the scratch file cannot be extended.
+	 * @throws IllegalArgumentException	if the word is too long to be stored (over 64 MB).
+	 */
+	@Override
+	public synchronized void add(String word, long amount) throws UncheckedIOException, IllegalArgumentException
+	{
+		int length = encode(word);
+		int hash = spread(word.hashCode());
+		long mask = index.length - 1;
+
+		for (long slot = hash & mask; ; slot = (slot + 1) & mask)
+		{
+			long value = index.get(slot);
+			if (value == 0)
+			{
+				index.set(slot, append(hash, length, amount) + 1);
+				total += amount;
+
+				// Keep the index at most three quarters full.
+				if (++distinct > index.length - (index.length >>> 2)) { grow(); }
+				return;
+			}
+
+			ByteBuffer page = arena.get(page(value - 1));
+			int position = position(value - 1);
+			if (page.getInt(position + 8) == hash && sameBytes(page, position, length))
+			{
+				page.putLong(position, page.getLong(position) + amount);
+				total += amount;
+				return;
+			}
+		}
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * This copies the whole vocabulary onto the heap, so it
+	 * should be avoided for very large vocabularies.
+	 */
+	@Override
+	public synchronized Map<String, Integer> toMap(IntConsumer frequencies) throws ArithmeticException
+	{
+		Map<String, Integer> result = new HashMap<String, Integer>();
+		for (int page = 0; page < arena.size(); page++)
+		{
+			for (int position = 0; position < pageUsed[page]; position = nextEntry(page, position))
+			{
+				long address = ((long) page << PAGE_BITS) | position;
+				int frequency = Math.toIntExact(countAt(address));
+				result.put(wordAt(address), frequency);
+				frequencies.accept(frequency);
+			}
+		}
+		return result;
+	}
+
+
+	/**
+	 * Passes the count of every word, in no
+	 * particular order, to the given action.
+	 *
+	 * @param action	the action to perform on each count.
+	 */
+	public synchronized void forEachFrequency(LongConsumer action)
+	{
+		for (int page = 0; page < arena.size(); page++)
+		{
+			for (int position = 0; position < pageUsed[page]; position = nextEntry(page, position))
+			{
+				action.accept(arena.get(page).getLong(position));
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the words and their counts ordered by descending
+	 * count, and words with the same count in ascending
+	 * lexicographical order (that of String.compareTo()). The
+	 * order is sorted outside the heap, in the same kind of
+	 * memory as the vocabulary; only the current word is on
+	 * the heap. Should only be called once counting has finished;
+	 * calling it again reuses the memory of the order returned
+	 * before, so any earlier iterator must no longer be used.
+	 *
+	 * @return an iterator over the words and their counts.
+	 *
+	 * @throws UncheckedIOException	if the scratch file cannot be extended.
+	 */
+	public synchronized Iterator<Map.Entry<String, Long>> sortedByFrequency() throws UncheckedIOException
+	{
+		if (lastOrder != null) { release(lastOrder); }
+		LongPages order = newLongPages(Math.max(1, distinct));
+		lastOrder = order;
+		long count = 0;
+		for (int page = 0; page < arena.size(); page++)
+		{
+			for (int position = 0; position < pageUsed[page]; position = nextEntry(page, position))
+			{
+				order.set(count++, ((long) page << PAGE_BITS) | position);
+			}
+		}
+		sort(order, 0, count - 1);
+
+		long size = count;
+		return new Iterator<Map.Entry<String, Long>>()
+		{
+			// Represents the position in the order of the next word.
+			private long next = 0;
+
+			@Override
+			public boolean hasNext()
+			{ return next < size; }
+
+			@Override
+			public Map.Entry<String, Long> next()
+			{
+				if (next >= size) { throw new NoSuchElementException(); }
+				long address = order.get(next++);
+				return new AbstractMap.SimpleImmutableEntry<String, Long>(wordAt(address), countAt(address));
+			}
+		};
+	}
+
+
+	/**
+	 * Helper method that returns the number
+	 * of distinct words counted.
+	 *
+	 * @return the number of distinct words.
+	 */
+	public synchronized long size()
+	{ return distinct; }
+
+
+	/**
+	 * Helper method that returns the total
+	 * of the counts of all words.
+	 *
+	 * @return the number of words counted.
+	 */
+	public synchronized long getTotal()
+	{ return total; }
+
+
+	/**
+	 * Deletes the vocabulary's scratch files, if any, and
+	 * drops its references to its buffers. The buffers' 
+	 * memory (direct or mapped) is not released here but 
+	 * when the garbage collector frees the buffers, which
+	 * may be some time later. The vocabulary cannot be used
+	 * afterwards.
+	 *
+	 * @throws IOException	if an error occurs while closing the scratch files.
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		arena.clear();
+		index = null;
+		lastOrder = null;
+		freeIndexRegions.clear();
+		if (arenaFile != null)
+		{
+			arenaFile.close();
+			indexFile.close();
+			arenaPath.delete();
+			indexPath.delete();
+		}
+	}
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * Helper method that mixes the bits of a hash code,
+	 * so the slot (low bits) indices are well distributed.
+	 */
+	private static int spread(int hash)
+	{
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+
+	/**
+	 * Helper method that encodes a word as UTF-8 into the
+	 * scratch buffer, copying ASCII words (the common case)
+	 * without creating a byte array.
+	 *
+	 * @return the number of bytes of the encoded word.
+	 */
+	private int encode(String word)
+	{
+		int chars = word.length();
+		if (scratch.length < chars) { scratch = new byte[Math.max(chars, scratch.length * 2)]; }
+
+		for (int i = 0; i < chars; i++)
+		{
+			char c = word.charAt(i);
+			if (c >= 0x80)
+			{
+				byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+				if (scratch.length < bytes.length) { scratch = new byte[bytes.length]; }
+				System.arraycopy(bytes, 0, scratch, 0, bytes.length);
+				return bytes.length;
+			}
+			scratch[i] = (byte) c;
+		}
+		return chars;
+	}
+
+
+	/**
+	 * Helper method that checks whether the entry at a position
+	 * of an arena page holds the word in the scratch buffer.
+	 */
+	private boolean sameBytes(ByteBuffer page, int position, int length)
+	{
+		if (page.getInt(position + 12) != length) { return false; }
+
+		int start = position + HEADER_SIZE;
+		for (int i = 0; i < length; i++)
+		{
+			if (page.get(start + i) != scratch[i]) { return false; }
+		}
+		return true;
+	}
+
+
+	/**
+	 * Helper method that appends an entry for the word
+	 * in the scratch buffer to the arena.
+	 *
+	 * @return the arena address of the new entry.
+	 */
+	private long append(int hash, int length, long count)
+	{
+		int size = entrySize(length);
+		if (size > 1 << PAGE_BITS) { throw new IllegalArgumentException("Word Too Long for the Vocabulary"); }
+
+		// An entry never spans two pages, so start a new page if the last one lacks room.
+		int last = arena.size() - 1;
+		if (last < 0 || pageUsed[last] + size > arena.get(last).capacity())
+		{
+			int pageSize = Math.max(size, 1 << (FIRST_PAGE_BITS + Math.min(arena.size(), PAGE_BITS - FIRST_PAGE_BITS)));
+			arena.add(allocate(arenaFile, arenaFileEnd, pageSize));
+			if (arenaFile != null) { arenaFileEnd += pageSize; }
+
+			last = arena.size() - 1;
+			if (last == pageUsed.length) { pageUsed = Arrays.copyOf(pageUsed, pageUsed.length * 2); }
+		}
+
+		ByteBuffer page = arena.get(last);
+		int position = pageUsed[last];
+		page.putLong(position, count);
+		page.putInt(position + 8, hash);
+		page.putInt(position + 12, length);
+		page.put(position + HEADER_SIZE, scratch, 0, length);
+		pageUsed[last] += size;
+
+		return ((long) last << PAGE_BITS) | position;
+	}
+
+
+	/**
+	 * Helper method that replaces the hash index
+	 * with one twice its size, releasing the old one.
+	 */
+	private void grow()
+	{
+		LongPages bigger = newLongPages(index.length * 2);
+		long mask = bigger.length - 1;
+
+		for (long slot = 0; slot < index.length; slot++)
+		{
+			long value = index.get(slot);
+			if (value == 0) { continue; }
+
+			int hash = arena.get(page(value - 1)).getInt(position(value - 1) + 8);
+			long target = hash & mask;
+			while (bigger.get(target) != 0) { target = (target + 1) & mask; }
+			bigger.set(target, value);
+		}
+		release(index);
+		index = bigger;
+	}
+
+
+	/**
+	 * Helper method that returns the position, in the same
+	 * arena page, of the entry following the given one.
+	 */
+	private int nextEntry(int page, int position)
+	{ return position + entrySize(arena.get(page).getInt(position + 12)); }
+
+
+	/**
+	 * Helper method that returns the size of an entry
+	 * for a word of the given length, keeping entries
+	 * aligned to 8 bytes.
+	 */
+	private static int entrySize(int length)
+	{ return (HEADER_SIZE + length + 7) & ~7; }
+
+
+	/**
+	 * Helper method that returns the arena page of an address.
+	 */
+	private static int page(long address)
+	{ return (int) (address >>> PAGE_BITS); }
+
+
+	/**
+	 * Helper method that returns the position within
+	 * its arena page of an address.
+	 */
+	private static int position(long address)
+	{ return (int) (address & ((1 << PAGE_BITS) - 1)); }
+
+
+	/**
+	 * Helper method that returns the count of the
+	 * entry at an arena address.
+	 */
+	private long countAt(long address)
+	{ return arena.get(page(address)).getLong(position(address)); }
+
+
+	/**
+	 * Helper method that decodes the word of the
+	 * entry at an arena address.
+	 */
+	private String wordAt(long address)
+	{
+		ByteBuffer page = arena.get(page(address));
+		int position = position(address);
+		byte[] bytes = new byte[page.getInt(position + 12)];
+		page.get(position + HEADER_SIZE, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+
+	/**
+	 * Helper method that orders the entries at two arena
+	 * addresses by descending count, then by word.
+	 */
+	private int compareEntries(long first, long second)
+	{
+		long firstCount = countAt(first);
+		long secondCount = countAt(second);
+		if (firstCount != secondCount) { return (firstCount > secondCount) ? -1 : 1; }
+		return compareWords(first, second);
+	}
+
+
+	/**
+	 * Helper method that orders the words of the entries at
+	 * two arena addresses as String.compareTo() would, by
+	 * comparing their UTF-8 bytes.
+	 */
+	private int compareWords(long first, long second)
+	{
+		ByteBuffer firstPage = arena.get(page(first));
+		ByteBuffer secondPage = arena.get(page(second));
+		int firstStart = position(first) + HEADER_SIZE;
+		int secondStart = position(second) + HEADER_SIZE;
+		int firstLength = firstPage.getInt(firstStart - 4);
+		int secondLength = secondPage.getInt(secondStart - 4);
+
+		int i = 0;
+		int shorter = Math.min(firstLength, secondLength);
+		while (i < shorter && firstPage.get(firstStart + i) == secondPage.get(secondStart + i)) { i++; }
+		if (i == shorter) { return Integer.compare(firstLength, secondLength); }
+
+		// Compare the characters the first difference lies in; their encodings start at the same position.
+		while ((firstPage.get(firstStart + i) & 0xC0) == 0x80) { i--; }
+		int firstChar = decodeAt(firstPage, firstStart + i);
+		int secondChar = decodeAt(secondPage, secondStart + i);
+		int result = Integer.compare(firstChar, secondChar);
+
+		// UTF-8 bytes sort by code point, but Strings compare UTF-16 units, in which
+		// supplementary characters (surrogate pairs) come before U+E000 to U+FFFF.
+		if ((firstChar >= 0x10000) != (secondChar >= 0x10000) && Math.min(firstChar, secondChar) >= 0xE000) { result = -result; }
+		return result;
+	}
+
+
+	/**
+	 * Helper method that decodes the UTF-8 encoded
+	 * code point starting at a position of a page.
+	 */
+	private static int decodeAt(ByteBuffer page, int position)
+	{
+		int lead = page.get(position) & 0xFF;
+		if (lead < 0x80) { return lead; }
+
+		int extra = (lead < 0xE0) ? 1 : (lead < 0xF0) ? 2 : 3;
+		int codePoint = lead & (0x3F >> extra);
+		for (int i = 1; i <= extra; i++) { codePoint = (codePoint << 6) | (page.get(position + i) & 0x3F); }
+		return codePoint;
+	}
+
+
+	/**
+	 * Helper method that sorts a range of arena addresses with
+	 * compareEntries(), by quicksort with a median-of-three pivot,
+	 * finishing short ranges by insertion sort.
+	 *
+	 * @param order	the addresses to sort.
+	 * @param low	the first position of the range.
+	 * @param high	the last position of the range.
+	 */
+	private void sort(LongPages order, long low, long high)
+	{
+		while (high - low > 16)
+		{
+			long middle = low + ((high - low) >>> 1);
+			if (compareEntries(order.get(middle), order.get(low)) < 0) { order.swap(middle, low); }
+			if (compareEntries(order.get(high), order.get(low)) < 0) { order.swap(high, low); }
+			if (compareEntries(order.get(high), order.get(middle)) < 0) { order.swap(high, middle); }
+			long pivot = order.get(middle);
+
+			long i = low;
+			long j = high;
+			while (i <= j)
+			{
+				while (compareEntries(order.get(i), pivot) < 0) { i++; }
+				while (compareEntries(order.get(j), pivot) > 0) { j--; }
+				if (i <= j) { order.swap(i++, j--); }
+			}
+
+			// Recurse into the smaller part and loop on the larger, so the stack stays shallow.
+			if (j - low < high - i)
+			{
+				sort(order, low, j);
+				low = i;
+			}
+			else
+			{
+				sort(order, i, high);
+				high = j;
+			}
+		}
+
+		for (long i = low + 1; i <= high; i++)
+		{
+			long value = order.get(i);
+			long j = i - 1;
+			while (j >= low && compareEntries(order.get(j), value) > 0)
+			{
+				order.set(j + 1, order.get(j));
+				j--;
+			}
+			order.set(j + 1, value);
+		}
+	}
+
+
+	/**
+	 * Helper method that allocates a zeroed array of longs
+	 * outside the heap, in the index's kind of memory. In a
+	 * scratch file, the array takes the first region released
+	 * before that is large enough, if any, and otherwise a
+	 * region past the end of the file.
+	 *
+	 * @param length	the number of longs.
+	 *
+	 * @throws UncheckedIOException	if the scratch file cannot be extended.
+	 */
+	private LongPages newLongPages(long length) throws UncheckedIOException
+	{
+		long start = -1;
+		boolean reused = false;
+		if (indexFile != null)
+		{
+			start = takeIndexRegion(length * 8);
+			reused = start >= 0;
+			if (!reused)
+			{
+				start = indexFileEnd;
+				indexFileEnd += length * 8;
+			}
+		}
+
+		int pageCount = (int) ((length + (1L << SLOT_PAGE_BITS) - 1) >>> SLOT_PAGE_BITS);
+		ByteBuffer[] pages = new ByteBuffer[pageCount];
+		for (int page = 0; page < pageCount; page++)
+		{
+			long first = (long) page << SLOT_PAGE_BITS;
+			int bytes = (int) (Math.min(length - first, 1L << SLOT_PAGE_BITS) * 8);
+			pages[page] = allocate(indexFile, start + first * 8, bytes);
+			if (reused) { clear(pages[page]); }
+		}
+		return new LongPages(pages, length, start);
+	}
+
+
+	/**
+	 * Helper method that releases an array of longs, so its
+	 * region of the index scratch file, if it has one, can be
+	 * reused. Adjacent released regions are joined.
+	 */
+	private void release(LongPages longs)
+	{
+		if (longs.fileStart < 0) { return; }
+
+		long start = longs.fileStart;
+		long end = start + longs.length * 8;
+		int i = 0;
+		while (i < freeIndexRegions.size() && freeIndexRegions.get(i)[0] < start) { i++; }
+
+		// Join the region with the one after it, then with the one before it, if they touch.
+		if (i < freeIndexRegions.size() && freeIndexRegions.get(i)[0] == end)
+		{
+			end += freeIndexRegions.get(i)[1];
+			freeIndexRegions.remove(i);
+		}
+		if (i > 0 && freeIndexRegions.get(i - 1)[0] + freeIndexRegions.get(i - 1)[1] == start)
+		{
+			freeIndexRegions.get(i - 1)[1] = end - freeIndexRegions.get(i - 1)[0];
+			return;
+		}
+		freeIndexRegions.add(i, new long[] {start, end - start});
+	}
+
+
+	/**
+	 * Helper method that takes the start of the first released
+	 * region of the index scratch file large enough for the
+	 * given number of bytes, keeping the rest of it released.
+	 *
+	 * @return the start of the region, or -1 if none is large enough.
+	 */
+	private long takeIndexRegion(long bytes)
+	{
+		for (int i = 0; i < freeIndexRegions.size(); i++)
+		{
+			long[] region = freeIndexRegions.get(i);
+			if (region[1] < bytes) { continue; }
+
+			long start = region[0];
+			if (region[1] == bytes) { freeIndexRegions.remove(i); }
+			else
+			{
+				region[0] += bytes;
+				region[1] -= bytes;
+			}
+			return start;
+		}
+		return -1;
+	}
+
+
+	/**
+	 * Helper method that fills a buffer with zeros.
+	 */
+	private static void clear(ByteBuffer buffer)
+	{
+		for (int position = 0; position < buffer.capacity(); position += 8) { buffer.putLong(position, 0); }
+	}
+
+
+	/**
+	 * Helper method that allocates a zeroed buffer, either
+	 * of direct memory or mapped from a region of a scratch
+	 * file; a region past any region mapped before is zeroed.
+	 *
+	 * @param file		the scratch file, or null for direct memory.
+	 * @param position	the start of the region in the scratch file.
+	 * @param bytes		the size of the buffer.
+	 *
+	 * @throws UncheckedIOException	if the scratch file cannot be extended.
+	 */
+	private static ByteBuffer allocate(FileChannel file, long position, int bytes) throws UncheckedIOException
+	{
+		try
+		{
+			ByteBuffer buffer = (file == null) ? ByteBuffer.allocateDirect(bytes) : file.map(FileChannel.MapMode.READ_WRITE, position, bytes);
+			return buffer.order(ByteOrder.nativeOrder());
+		}
+		catch (IOException e) { throw new UncheckedIOException("Error Extending the Vocabulary File", e); }
+	}
+
+
+	/**
+	 * Helper method that creates an empty scratch file,
+	 * to be deleted when the JVM exits.
+	 */
+	private static FileChannel openScratchFile(File file) throws IOException
+	{
+		RandomAccessFile scratchFile = new RandomAccessFile(file, "rw");
+		scratchFile.setLength(0);
+		file.deleteOnExit();
+		return scratchFile.getChannel();
+	}
+
+
+	/**
+	 * An array of longs held in pages of memory
+	 * outside the heap, indexed by a long.
+	 */
+	private static final class LongPages
+	{
+		// Represents the pages holding the longs.
+		final ByteBuffer[] pages;
+
+		// Represents the number of longs.
+		final long length;
+
+		// Represents the start of the region of the index scratch file holding the longs, or -1 for direct memory.
+		final long fileStart;
+
+		LongPages(ByteBuffer[] pages, long length, long fileStart)
+		{
+			this.pages = pages;
+			this.length = length;
+			this.fileStart = fileStart;
+		}
+
+		long get(long i)
+		{ return pages[(int) (i >>> SLOT_PAGE_BITS)].getLong((int) (i & ((1 << SLOT_PAGE_BITS) - 1)) << 3); }
+
+		void set(long i, long value)
+		{ pages[(int) (i >>> SLOT_PAGE_BITS)].putLong((int) (i & ((1 << SLOT_PAGE_BITS) - 1)) << 3, value); }
+
+		void swap(long i, long j)
+		{
+			long value = get(i);
+			set(i, get(j));
+			set(j, value);
+		}
+	}
+
+}
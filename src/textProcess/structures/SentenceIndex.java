@@ -0,0 +1,218 @@
+package textProcess.structures;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a compact index of the sentences
+ * of an analyzed text: the byte offset in the source file
+ * at which each sentence starts, its length in bytes, and 
+ * its number of tokens.
+ * 
+ * Sentences are stored as variable-length encoded records in a
+ * growable byte array, each start offset being stored as the 
+ * difference from the previous sentence's start, so a typical
+ * sentence takes a few bytes and nothing is boxed. Every 64th
+ * sentence's absolute offset and record position is kept as a 
+ * checkpoint, so looking up any sentence decodes at most 63 
+ * records. The records are limited to the size of one array,
+ * a little under 2 GB, which holds hundreds of millions of 
+ * sentences.
+ * 
+ * @author David Olorundare
+ *
+ */
+public class SentenceIndex
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the number of sentences between checkpoints; must be a power of two.
+	private static final int CHECKPOINT_INTERVAL = 64;
+	
+	// Represents the largest number of bytes of records, that of the largest array the VM reliably allocates.
+	private static final int MAX_RECORDS_LENGTH = Integer.MAX_VALUE - 8;
+	
+	// Represents the largest number of bytes a record takes: 10 + 5 + 5.
+	private static final int MAX_RECORD_LENGTH = 20;
+	
+	// Represents the encoded sentence records.
+	private byte[] records = new byte[1024];
+	
+	// Represents the number of bytes of records in use.
+	private int recordsLength;
+	
+	// Represents the start offset of every checkpointed sentence.
+	private long[] checkpointOffsets = new long[64];
+	
+	// Represents the record position of every checkpointed sentence.
+	private int[] checkpointPositions = new int[64];
+	
+	// Represents the number of sentences in the index.
+	private int size;
+	
+	// Represents the start offset of the last sentence added.
+	private long lastStart;
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that adds the next sentence
+	 * of the text to the index.
+	 * 
+	 * @param start			the byte offset at which the sentence starts; no less than the previous sentence's.
+	 * @param byteLength	the length of the sentence in bytes.
+	 * @param tokens		the number of tokens in the sentence.
+	 * 
+	 * @throws IllegalArgumentException if the sentence starts before the previous one.
+	 * @throws IllegalStateException if the index has no room for another record.
+	 */
+	public void add(long start, int byteLength, int tokens) throws IllegalArgumentException, IllegalStateException
+	{
+		if (start < lastStart) { throw new IllegalArgumentException("Sentences Must Be Added In Order"); }
+		if (recordsLength > MAX_RECORDS_LENGTH - MAX_RECORD_LENGTH) 
+		{ throw new IllegalStateException("Sentence Index Is Full: " + size + " Sentences Take " + recordsLength + " Bytes, the Most One Index Holds"); }
+		
+		if ((size & (CHECKPOINT_INTERVAL - 1)) == 0)
+		{
+			int checkpoint = size / CHECKPOINT_INTERVAL;
+			if (checkpoint == checkpointOffsets.length)
+			{
+				checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpoint * 2);
+				checkpointPositions = Arrays.copyOf(checkpointPositions, checkpoint * 2);
+			}
+			checkpointOffsets[checkpoint] = start;
+			checkpointPositions[checkpoint] = recordsLength;
+		}
+		
+		// Double the records, without going past the largest array.
+		if (recordsLength + MAX_RECORD_LENGTH > records.length) 
+		{ records = Arrays.copyOf(records, (int) Math.min(records.length * 2L, MAX_RECORDS_LENGTH)); }
+		writeVarLong(start - lastStart);
+		writeVarLong(byteLength);
+		writeVarLong(tokens);
+		
+		lastStart = start;
+		size++;
+	}
+	
+	
+	/**
+	 * Helper method that returns the number
+	 * of sentences in the index.
+	 * 
+	 * @return the number of sentences.
+	 */
+	public int size()
+	{ return size; }
+	
+	
+	/**
+	 * Helper method that returns the byte offset
+	 * at which a sentence starts.
+	 * 
+	 * @param n the position of the sentence, from 0.
+	 * 
+	 * @return the byte offset of the sentence.
+	 */
+	public long getStart(int n)
+	{ return lookup(n)[0]; }
+	
+	
+	/**
+	 * Helper method that returns the length 
+	 * of a sentence in bytes.
+	 * 
+	 * @param n the position of the sentence, from 0.
+	 * 
+	 * @return the length of the sentence in bytes.
+	 */
+	public int getByteLength(int n)
+	{ return (int) lookup(n)[1]; }
+	
+	
+	/**
+	 * Helper method that returns the number
+	 * of tokens in a sentence.
+	 * 
+	 * @param n the position of the sentence, from 0.
+	 * 
+	 * @return the number of tokens in the sentence.
+	 */
+	public int getTokenCount(int n)
+	{ return (int) lookup(n)[2]; }
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that decodes the record of a sentence,
+	 * starting from the nearest checkpoint before it.
+	 * 
+	 * @param n the position of the sentence, from 0.
+	 * 
+	 * @return the start offset, byte length and token count of the sentence.
+	 * 
+	 * @throws IndexOutOfBoundsException if there is no such sentence.
+	 */
+	private long[] lookup(int n) throws IndexOutOfBoundsException
+	{
+		if (n < 0 || n >= size) { throw new IndexOutOfBoundsException("No Sentence " + n + " in an Index of " + size); }
+		
+		int checkpoint = n / CHECKPOINT_INTERVAL;
+		int[] position = {checkpointPositions[checkpoint]};
+		
+		// The checkpoint's own delta is already included in its offset.
+		long start = checkpointOffsets[checkpoint];
+		readVarLong(position);
+		long byteLength = readVarLong(position);
+		long tokens = readVarLong(position);
+		
+		for (int i = checkpoint * CHECKPOINT_INTERVAL; i < n; i++)
+		{
+			start += readVarLong(position);
+			byteLength = readVarLong(position);
+			tokens = readVarLong(position);
+		}
+		return new long[] {start, byteLength, tokens};
+	}
+	
+	
+	/**
+	 * Helper method that appends a non-negative value 
+	 * to the records, seven bits per byte.
+	 */
+	private void writeVarLong(long value)
+	{
+		while ((value & ~0x7FL) != 0)
+		{
+			records[recordsLength++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		records[recordsLength++] = (byte) value;
+	}
+	
+	
+	/**
+	 * Helper method that reads a value written by 
+	 * writeVarLong(), advancing the given position.
+	 */
+	private long readVarLong(int[] position)
+	{
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do
+		{
+			b = records[position[0]++];
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		}
+		while (b < 0);
+		return value;
+	}
+	
+}
@@ -0,0 +1,253 @@
+package textProcess.structures;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Word counter shared by all threads, built as a fixed
+ * number of independently resizable segments. Each segment
+ * is an open-addressing (linear probing) table whose keys are
+ * claimed with a compare-and-set and whose frequencies live in
+ * a primitive counter array updated with atomic adds, so
+ * counting a word never takes a lock.
+ *
+ * Only growing a segment is serialized: the resizing thread
+ * freezes every slot of the old table (claiming empty key slots
+ * with a marker and swapping counters for a sentinel value),
+ * copies the frozen counts into a table twice the size, and
+ * publishes it. Threads that run into a frozen slot wait for the
+ * resize to finish and then retry on the new table.
+ *
+ * @author David Olorundare
+ *
+ */
+public final class StripedWordCounter implements WordCounter
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the number of hash bits used to select a segment (64 segments).
+	private static final int SEGMENT_BITS = 6;
+
+	// Represents the initial number of slots in each segment; must be a power of two.
+	private static final int INITIAL_CAPACITY = 256;
+
+	// Represents the counter value of a slot that has been copied to a newer table.
+	private static final long FROZEN = Long.MIN_VALUE;
+
+	// Represents the key of an empty slot that has been retired by a resize.
+	private static final String MOVED = new String("<moved>");
+
+	// Represents the outcomes of adding to a table.
+	private static final int DONE = 0;
+	private static final int GROW = 1;
+	private static final int RETRY = 2;
+
+	// Represents the segments holding the word counts.
+	private final Segment[] segments;
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Constructor of the class.
+	 *
+	 */
+	public StripedWordCounter()
+	{
+		segments = new Segment[1 << SEGMENT_BITS];
+		for (int i = 0; i < segments.length; i++) { segments[i] = new Segment(); }
+	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void increment(String word)
+	{ add(word, 1); }
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(String word, long amount)
+	{
+		int hash = spread(word.hashCode());
+		segments[hash >>> (32 - SEGMENT_BITS)].add(word, hash, amount);
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, Integer> toMap(IntConsumer frequencies) throws ArithmeticException
+	{
+		Map<String, Integer> result = new HashMap<String, Integer>();
+		for (Segment segment : segments)
+		{
+			Table table = segment.table;
+			for (int i = 0; i < table.keys.length(); i++)
+			{
+				String key = table.keys.get(i);
+				long count = table.counts.get(i);
+				if (key != null && key != MOVED && count > 0)
+				{
+					int frequency = Math.toIntExact(count);
+					result.put(key, frequency);
+					frequencies.accept(frequency);
+				}
+			}
+		}
+		return result;
+	}
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * Helper method that mixes the bits of a hash code
+	 * so both the segment (high bits) and slot (low bits)
+	 * indices are well distributed.
+	 *
+	 * @param hash	the hash code of a word.
+	 *
+	 * @return the mixed hash code.
+	 */
+	private static int spread(int hash)
+	{
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+
+	/**
+	 * A single resizable segment of the counter.
+	 */
+	private static final class Segment
+	{
+		// Represents the table currently holding this segment's counts.
+		volatile Table table = new Table(INITIAL_CAPACITY);
+
+		/**
+		 * Adds to the count of a word, retrying on
+		 * a newer table if a resize gets in the way.
+		 */
+		void add(String word, int hash, long amount)
+		{
+			while (true)
+			{
+				Table current = table;
+				int outcome = current.add(word, hash, amount);
+				if (outcome == DONE) { return; }
+
+				resize(current);
+				if (outcome == GROW) { return; }
+			}
+		}
+
+		/**
+		 * Replaces the given table with one twice its size,
+		 * unless another thread has already done so.
+		 */
+		synchronized void resize(Table old)
+		{
+			if (table != old) { return; }
+
+			Table bigger = new Table(old.keys.length() * 2);
+			for (int i = 0; i < old.keys.length(); i++)
+			{
+				String key = old.keys.get(i);
+				if (key == null)
+				{
+					if (old.keys.compareAndSet(i, null, MOVED)) { continue; }
+					key = old.keys.get(i);
+				}
+				bigger.put(key, old.counts.getAndSet(i, FROZEN));
+			}
+			table = bigger;
+		}
+	}
+
+
+	/**
+	 * An open-addressing table of words and their counts.
+	 */
+	private static final class Table
+	{
+		// Represents the words held in each slot.
+		final AtomicReferenceArray<String> keys;
+
+		// Represents the frequency of the word held in each slot.
+		final AtomicLongArray counts;
+
+		// Represents the number of occupied slots.
+		final AtomicInteger size = new AtomicInteger();
+
+		// Represents the number of occupied slots past which the table should grow.
+		final int threshold;
+
+		Table(int capacity)
+		{
+			keys = new AtomicReferenceArray<String>(capacity);
+			counts = new AtomicLongArray(capacity);
+			threshold = capacity >>> 1;
+		}
+
+		/**
+		 * Adds to the count of a word, claiming a slot for it if needed.
+		 * Returns RETRY if the table is being (or must be) resized first,
+		 * and GROW if the word was counted but the table is now over-full.
+		 */
+		int add(String word, int hash, long amount)
+		{
+			int mask = keys.length() - 1;
+			int index = hash & mask;
+			for (int probes = 0; probes <= mask; probes++, index = (index + 1) & mask)
+			{
+				String key = keys.get(index);
+				boolean claimed = false;
+				if (key == null)
+				{
+					claimed = keys.compareAndSet(index, null, word);
+					key = claimed ? word : keys.get(index);
+				}
+				if (key == MOVED) { return RETRY; }
+				if (claimed || key.equals(word))
+				{
+					// A frozen counter stays negative whatever gets added to it.
+					if (counts.getAndAdd(index, amount) < 0) { return RETRY; }
+					return (claimed && size.incrementAndGet() > threshold) ? GROW : DONE;
+				}
+			}
+			return RETRY;
+		}
+
+		/**
+		 * Inserts a word and its count; only used while
+		 * the table is not yet visible to other threads.
+		 */
+		void put(String word, long count)
+		{
+			int mask = keys.length() - 1;
+			int index = spread(word.hashCode()) & mask;
+			while (keys.get(index) != null) { index = (index + 1) & mask; }
+			keys.set(index, word);
+			counts.set(index, count);
+			size.incrementAndGet();
+		}
+	}
+
+}
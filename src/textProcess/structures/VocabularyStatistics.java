@@ -0,0 +1,168 @@
+package textProcess.structures;
+
+/**
+ * This class represents the lexical-richness
+ * statistics of the vocabulary of an analyzed text.
+ * 
+ * @author David Olorundare
+ *
+ */
+public class VocabularyStatistics
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the number of word tokens in the text.
+	private final long numberOfTokens;
+	
+	// Represents the number of word types in the text.
+	private final int numberOfTypes;
+	
+	// Represents the number of tokens in each window of the moving-average type-token ratio.
+	private final int windowSize;
+	
+	// Represents the average type-token ratio over all windows of windowSize consecutive tokens.
+	private final double movingAverageTypeTokenRatio;
+	
+	// Represents the number of types in the text with each frequency; index 0 is unused.
+	private final int[] frequencySpectrum;
+	
+	// Represents the fitted exponent of Zipf's law, frequency ~ rank^(-exponent).
+	private final double zipfExponent;
+	
+	// Represents the coefficient of determination of the Zipf fit, on log-log scales.
+	private final double zipfFit;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param numberOfTokens				number of word tokens in the text.
+	 * @param numberOfTypes					number of word types in the text.
+	 * @param windowSize					number of tokens in each moving-average window.
+	 * @param movingAverageTypeTokenRatio	average type-token ratio over all windows.
+	 * @param frequencySpectrum				number of types with each frequency.
+	 * @param zipfExponent					fitted exponent of Zipf's law.
+	 * @param zipfFit						coefficient of determination of the Zipf fit.
+	 */
+	public VocabularyStatistics(long numberOfTokens, int numberOfTypes, int windowSize, double movingAverageTypeTokenRatio, 
+			int[] frequencySpectrum, double zipfExponent, double zipfFit)
+	{
+		this.numberOfTokens = numberOfTokens;
+		this.numberOfTypes = numberOfTypes;
+		this.windowSize = windowSize;
+		this.movingAverageTypeTokenRatio = movingAverageTypeTokenRatio;
+		this.frequencySpectrum = frequencySpectrum;
+		this.zipfExponent = zipfExponent;
+		this.zipfFit = zipfFit;
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that returns the ratio of
+	 * distinct words to words in the analyzed text.
+	 * 
+	 * @return the type-token ratio, or 0 for an empty text.
+	 */
+	public double getTypeTokenRatio()
+	{ return (numberOfTokens == 0) ? 0 : (double) numberOfTypes / numberOfTokens; }
+	
+	
+	/**
+	 * Helper method that returns the average type-token
+	 * ratio over every window of consecutive tokens. Texts
+	 * shorter than one window return the plain type-token ratio.
+	 * 
+	 * @return the moving-average type-token ratio.
+	 */
+	public double getMovingAverageTypeTokenRatio()
+	{ return movingAverageTypeTokenRatio; }
+	
+	
+	/**
+	 * Helper method that returns the number of tokens in
+	 * each window of the moving-average type-token ratio.
+	 * 
+	 * @return the window size.
+	 */
+	public int getWindowSize()
+	{ return windowSize; }
+	
+	
+	/**
+	 * Helper method that returns the number of words
+	 * occurring exactly once in the analyzed text.
+	 * 
+	 * @return the number of hapax legomena.
+	 */
+	public int getHapaxLegomena()
+	{ return getTypesWithFrequency(1); }
+	
+	
+	/**
+	 * Helper method that returns the number of words
+	 * occurring exactly twice in the analyzed text.
+	 * 
+	 * @return the number of dis legomena.
+	 */
+	public int getDisLegomena()
+	{ return getTypesWithFrequency(2); }
+	
+	
+	/**
+	 * Helper method that returns the number of distinct
+	 * words occurring a given number of times.
+	 * 
+	 * @param frequency	the number of occurrences.
+	 * 
+	 * @return the number of types with that frequency.
+	 */
+	public int getTypesWithFrequency(int frequency)
+	{ return (frequency > 0 && frequency < frequencySpectrum.length) ? frequencySpectrum[frequency] : 0; }
+	
+	
+	/**
+	 * Helper method that returns the frequency-of-frequency
+	 * spectrum, where index f holds the number of types 
+	 * occurring f times, and index 0 is unused.
+	 * 
+	 * @return a copy of the frequency spectrum.
+	 */
+	public int[] getFrequencySpectrum()
+	{ return frequencySpectrum.clone(); }
+	
+	
+	/**
+	 * Helper method that returns the exponent of the 
+	 * least-squares fit of Zipf's law, log(frequency) = 
+	 * c - exponent * log(rank), over all word types.
+	 * 
+	 * @return the Zipf exponent, or 0 if there are fewer than two types.
+	 */
+	public double getZipfExponent()
+	{ return zipfExponent; }
+	
+	
+	/**
+	 * Helper method that returns how well Zipf's law fits
+	 * the vocabulary, as the coefficient of determination
+	 * (R squared) of the log-log fit.
+	 * 
+	 * @return the goodness of the Zipf fit, from 0 to 1.
+	 */
+	public double getZipfFit()
+	{ return zipfFit; }
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	// No Private Methods.
+	
+}
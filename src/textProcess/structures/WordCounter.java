@@ -0,0 +1,66 @@
+package textProcess.structures;
+
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * This interface represents a word-frequency
+ * accumulator that several analysis threads
+ * may update at the same time.
+ *
+ * Implementations differ in how concurrent
+ * increments are aggregated; see {@link CountingStrategy}
+ * for the available choices.
+ *
+ * @author David Olorundare
+ *
+ */
+public interface WordCounter
+{
+
+	/**
+	 * Increments the frequency of a word by one.
+	 *
+	 * @param word	the word-token to count.
+	 */
+	void increment(String word);
+
+
+	/**
+	 * Increments the frequency of a word by a given amount.
+	 *
+	 * @param word		the word-token to count.
+	 * @param amount	the number of occurrences to add.
+	 */
+	void add(String word, long amount);
+
+
+	/**
+	 * Returns the word-to-frequency mapping accumulated so far.
+	 * Should only be called once all updating threads have finished.
+	 *
+	 * @return the word-to-frequency mapping.
+	 *
+	 * @throws ArithmeticException if a word occurs more times than an int holds.
+	 */
+	default Map<String, Integer> toMap() throws ArithmeticException
+	{ return toMap(frequency -> { }); }
+
+
+	/**
+	 * Returns the word-to-frequency mapping accumulated so far,
+	 * passing the frequency of each word to the given action as
+	 * the mapping is built, so callers needing only a summary of
+	 * the frequencies (e.g. their spectrum) can avoid another
+	 * pass over the mapping.
+	 * Should only be called once all updating threads have finished.
+	 *
+	 * @param frequencies	the action to perform on the frequency of each word.
+	 *
+	 * @return the word-to-frequency mapping.
+	 *
+	 * @throws ArithmeticException if a word occurs more times than an int holds.
+	 */
+	Map<String, Integer> toMap(IntConsumer frequencies) throws ArithmeticException;
+
+}
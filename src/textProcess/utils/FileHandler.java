@@ -2,14 +2,24 @@ package textProcess.utils;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.BitSet;
 
+import textProcess.compute.DuplicateDetector;
+import textProcess.compute.LineOffsetReader;
+import textProcess.compute.ParagraphSkippingReader;
 import textProcess.compute.TextAnalyzer;
+import textProcess.shard.ShardCoordinator;
 import textProcess.structures.AnalyzedData;
+import textProcess.structures.CountingStrategy;
+import textProcess.structures.OffHeapVocabulary;
+import textProcess.structures.WordCounter;
 
 
 /**
@@ -47,6 +57,12 @@ public final class FileHandler
 	
 	// Represents the data structure used for storing all the results of the text analysis.
 	private AnalyzedData processedResults = new AnalyzedData();
+	
+	// Represents the positions of the input paragraphs left out of the analysis, if any.
+	private BitSet excludedParagraphs;
+	
+	// Represents whether sequential analyses record where each sentence lies in the input file.
+	private boolean recordSentences;
 
 	
 	//============================================ CONSTRUCTOR =============================================================
@@ -110,6 +126,58 @@ public final class FileHandler
 	}
 	
 	
+	/**
+	 * Helper method that sets the paragraphs of the
+	 * input text-file to leave out of later analyses.
+	 * 
+	 * @param paragraphs	the positions, from 0, of the paragraphs to leave out, or null to keep them all.
+	 * 
+	 */
+	public void setExcludedParagraphs(BitSet paragraphs)
+	{
+		excludedParagraphs = paragraphs;
+	}
+	
+	
+	/**
+	 * Helper method that sets whether later sequential analyses
+	 * record where each sentence lies in the input text-file and
+	 * how many tokens it has, along with histograms of sentence, 
+	 * paragraph and token lengths (see openSentenceReader()). 
+	 * Off by default.
+	 * 
+	 * @param value	whether to record per-sentence statistics.
+	 * 
+	 */
+	public void setSentenceRecording(boolean value)
+	{
+		recordSentences = value;
+	}
+	
+	
+	/**
+	 * Finds the paragraphs of the input text-file that are
+	 * near-duplicates of an earlier paragraph, and leaves them
+	 * out of later analyses. Sentence offsets recorded by such 
+	 * an analysis still refer to the whole input text-file.
+	 * 
+	 * @param detector	the near-duplicate detector used.
+	 * @param workers	the number of threads computing paragraph signatures.
+	 * 
+	 * @return	the positions, from 0, of the duplicate paragraphs.
+	 * 
+	 * @throws IOException	if an error occurs while reading the input file.
+	 * @throws FileNotFoundException	if the input or output text files are empty or cannot be found.
+	 */
+	public BitSet findDuplicateParagraphs(DuplicateDetector detector, int workers) throws IOException, FileNotFoundException
+	{
+		// Search the whole file, including any paragraphs left out before.
+		excludedParagraphs = null;
+		excludedParagraphs = detector.findDuplicates(openInput(), workers);
+		return excludedParagraphs;
+	}
+	
+	
 	/**
 	 * Loads data from a file containing text and
 	 * delegates its analysis to a given text-preprocessor
@@ -129,28 +197,179 @@ public final class FileHandler
 	{
 		textProcessor = analyzer;
 		
-		File inputData = new File(source);
-        if (!inputData.exists()) 
-        { throw new FileNotFoundException("Input File Doesn't Exist"); }
+		// Input file exists and is ready so analyze the text, reading its bytes if sentences are recorded.
+		if (recordSentences)
+		{
+			openInput().close();
+			processedResults = textProcessor.analyzeText(new LineOffsetReader(new FileInputStream(source), Charset.defaultCharset(), excludedParagraphs));
+		}
+		else { processedResults = textProcessor.analyzeText(openInput()); }
+        
+        // Return the text analysis for printing/storage into an external file. 
+        return processedResults;
+	}
+	
+	
+	/**
+	 * Loads data from a file containing text and
+	 * delegates its analysis to a given text-preprocessor
+	 * implementation, running the analysis on several threads.
+	 * 
+	 * @param	analyzer	the text-preprocessor implementation used to 
+	 * 						analyze the input text data from a file.
+	 * @param	workers		the number of threads used for the analysis.
+	 * @param	strategy	the strategy used for aggregating word frequencies across threads.
+	 * 
+	 * @return	a structure containing the results of the 
+	 * 			input text-file analysis.
+	 *
+	 * @throws IOException	if an error occurs while reading the input file.
+	 * @throws FileNotFoundException	if the input or output text files are empty or cannot be found.
+	 * @throws IllegalArgumentException	if sentences are to be recorded, which needs sequential analysis.
+	 * 
+	 */
+	public AnalyzedData loadAndCompute(TextAnalyzer analyzer, int workers, CountingStrategy strategy) throws IOException, FileNotFoundException, IllegalArgumentException
+	{
+		if (recordSentences) 
+		{ throw new IllegalArgumentException("Sentences Are Only Recorded in Sequential Analysis"); }
 		
-        // Ensure the output file exists.
-        outputData = new File(destination);
-        if (!outputData.exists()) 
-        { throw new FileNotFoundException("Output File Doesn't Exist"); }
-           
-        // Input file exists so read in data.
-        read = new BufferedReader(new FileReader(source)); 
-         
-        // check if stream is ready for reading; analyze the text.
-        if (read.ready())
-        {  processedResults = textProcessor.analyzeText(read); } 
-        else { throw new IOException("Error Reading the Input File"); }
+		textProcessor = analyzer;
+		
+		// Input file exists and is ready so analyze the text.
+		processedResults = textProcessor.analyzeTextInParallel(openInput(), workers, strategy);
+        
+        // Return the text analysis for printing/storage into an external file. 
+        return processedResults;
+	}
+	
+	
+	/**
+	 * Loads data from a file containing text and
+	 * delegates its analysis to a given text-preprocessor
+	 * implementation, running the analysis on several threads
+	 * which count into a given word counter, such as an
+	 * OffHeapVocabulary backed by a memory-mapped file.
+	 * 
+	 * @param	analyzer	the text-preprocessor implementation used to 
+	 * 						analyze the input text data from a file.
+	 * @param	workers		the number of threads used for the analysis.
+	 * @param	counter		the new, empty word counter shared by the threads.
+	 * 
+	 * @return	a structure containing the results of the 
+	 * 			input text-file analysis.
+	 *
+	 * @throws IOException	if an error occurs while reading the input file.
+	 * @throws FileNotFoundException	if the input or output text files are empty or cannot be found.
+	 * @throws IllegalArgumentException	if sentences are to be recorded, which needs sequential analysis.
+	 * 
+	 */
+	public AnalyzedData loadAndCompute(TextAnalyzer analyzer, int workers, WordCounter counter) throws IOException, FileNotFoundException, IllegalArgumentException
+	{
+		if (recordSentences) 
+		{ throw new IllegalArgumentException("Sentences Are Only Recorded in Sequential Analysis"); }
+		
+		textProcessor = analyzer;
+		
+		// Input file exists and is ready so analyze the text.
+		processedResults = textProcessor.analyzeTextInParallel(openInput(), workers, counter);
+        
+        // Return the text analysis for printing/storage into an external file. 
+        return processedResults;
+	}
+	
+	
+	/**
+	 * Loads data from a file containing text and
+	 * analyzes it in shards, each in a separate worker 
+	 * process, in the language of the given text-preprocessor.
+	 * 
+	 * @param	analyzer	the text-preprocessor whose language is used.
+	 * @param	coordinator	the coordinator splitting the file into shards and merging their results.
+	 * 
+	 * @return	a structure containing the results of the 
+	 * 			input text-file analysis.
+	 *
+	 * @throws IOException	if an error occurs while reading the input file, or a worker fails.
+	 * @throws FileNotFoundException	if the input or output text files are empty or cannot be found.
+	 * @throws IllegalArgumentException	if paragraphs are to be left out or sentences recorded, which shards do not support.
+	 * 
+	 */
+	public AnalyzedData loadAndComputeInShards(TextAnalyzer analyzer, ShardCoordinator coordinator) throws IOException, FileNotFoundException, IllegalArgumentException
+	{
+		if (excludedParagraphs != null) 
+		{ throw new IllegalArgumentException("Excluded Paragraphs Are Not Supported in Sharded Analysis"); }
+		if (recordSentences) 
+		{ throw new IllegalArgumentException("Sentences Are Only Recorded in Sequential Analysis"); }
+		
+		textProcessor = analyzer;
+		
+		// Check the input file exists and is ready; the workers read it themselves.
+		openInput().close();
+		processedResults = coordinator.analyze(source, textProcessor.getLanguage());
+        
+        // Return the text analysis for printing/storage into an external file. 
+        return processedResults;
+	}
+	
+	
+	/**
+	 * Loads data from a file containing text and
+	 * analyzes it in shards, each in a separate worker 
+	 * process, in the language of the given text-preprocessor,
+	 * merging the shards' words into a given vocabulary, such
+	 * as one backed by a memory-mapped file.
+	 * 
+	 * @param	analyzer	the text-preprocessor whose language is used.
+	 * @param	coordinator	the coordinator splitting the file into shards and merging their results.
+	 * @param	vocabulary	the new, empty vocabulary the merged words are kept in.
+	 * 
+	 * @return	a structure containing the results of the 
+	 * 			input text-file analysis.
+	 *
+	 * @throws IOException	if an error occurs while reading the input file, or a worker fails.
+	 * @throws FileNotFoundException	if the input or output text files are empty or cannot be found.
+	 * @throws IllegalArgumentException	if paragraphs are to be left out or sentences recorded, which shards do not support.
+	 * 
+	 */
+	public AnalyzedData loadAndComputeInShards(TextAnalyzer analyzer, ShardCoordinator coordinator, OffHeapVocabulary vocabulary) throws IOException, FileNotFoundException, IllegalArgumentException
+	{
+		if (excludedParagraphs != null) 
+		{ throw new IllegalArgumentException("Excluded Paragraphs Are Not Supported in Sharded Analysis"); }
+		if (recordSentences) 
+		{ throw new IllegalArgumentException("Sentences Are Only Recorded in Sequential Analysis"); }
+		
+		textProcessor = analyzer;
+		
+		// Check the input file exists and is ready; the workers read it themselves.
+		openInput().close();
+		processedResults = coordinator.analyze(source, textProcessor.getLanguage(), vocabulary);
         
         // Return the text analysis for printing/storage into an external file. 
         return processedResults;
 	}
 	
 	
+	/**
+	 * Opens the input text-file for random access to its
+	 * sentences, using the sentence index recorded when it was 
+	 * analyzed (see setSentenceRecording()).
+	 * 
+	 * @param results	the results of analyzing the input text-file.
+	 * 
+	 * @return	a reader of the sentences of the input text-file.
+	 * 
+	 * @throws IOException	if an error occurs while opening the input file.
+	 * @throws IllegalArgumentException	if the analysis did not record sentences.
+	 */
+	public SentenceReader openSentenceReader(AnalyzedData results) throws IOException, IllegalArgumentException
+	{
+		if (results.getSentenceIndex() == null) 
+		{ throw new IllegalArgumentException("Sentences Were Not Recorded During Analysis"); }
+		
+		return new SentenceReader(source, results.getSentenceIndex(), Charset.defaultCharset());
+	}
+	
+	
 	/**
 	 * Helper method that writes some string data
 	 * to the given external output file.
@@ -169,7 +388,54 @@ public final class FileHandler
 	}
 	
 	
+	/**
+	 * Helper method that opens the external output
+	 * file for writing, replacing its content, for data
+	 * too large to be written as a single string.
+	 * 
+	 * @return	a writer of the output file, to be closed by the caller.
+	 * 
+	 * @throws IOException if an error occurs while opening the output file.
+	 */
+	public Writer openOutputFile() throws IOException
+	{
+		return new FileWriter(destination);
+	}
+	
+	
 	//============================================ PRIVATE METHODS =============================================================
 	
+	
+	/**
+	 * Helper method that checks the input and output
+	 * files exist, and opens the input file for reading.
+	 * 
+	 * @return	a stream over the input text-file.
+	 * 
+	 * @throws IOException	if an error occurs while reading the input file.
+	 * @throws FileNotFoundException	if the input or output text files are empty or cannot be found.
+	 */
+	private BufferedReader openInput() throws IOException, FileNotFoundException
+	{
+		File inputData = new File(source);
+        if (!inputData.exists()) 
+        { throw new FileNotFoundException("Input File Doesn't Exist"); }
+		
+        // Ensure the output file exists.
+        outputData = new File(destination);
+        if (!outputData.exists()) 
+        { throw new FileNotFoundException("Output File Doesn't Exist"); }
+           
+        // Input file exists so read in data, leaving out any excluded paragraphs.
+        if (excludedParagraphs == null) { read = new BufferedReader(new FileReader(source)); }
+        else { read = new ParagraphSkippingReader(new FileReader(source), excludedParagraphs); }
+         
+        // check if stream is ready for reading.
+        if (!read.ready())
+        { throw new IOException("Error Reading the Input File"); }
+        
+        return read;
+	}
+	
 
 }
@@ -1,10 +1,14 @@
 package textProcess.utils;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.stream.Collectors;
 import textProcess.structures.AnalyzedData;
+import textProcess.structures.OffHeapVocabulary;
 
 
 /**
@@ -24,6 +28,21 @@ public final class OutputPrinter
 	// Holds an instance to this class
 	private volatile static OutputPrinter instance;
 	
+	// Orders words by descending frequency, then ascending lexicographical order.
+	// A plain comparator, rather than a stream pipeline, keeps lambda and stream setup out of JVM startup.
+	private static final Comparator<Entry<String, Integer>> BY_FREQUENCY = new Comparator<Entry<String, Integer>>()
+	{
+		@Override
+		public int compare(Entry<String, Integer> first, Entry<String, Integer> second)
+		{
+			int byFrequency = second.getValue().compareTo(first.getValue());
+			return (byFrequency != 0) ? byFrequency : first.getKey().compareTo(second.getKey());
+		}
+	};
+	
+	// Represents the number of characters of output printed at a time for off-heap vocabularies.
+	private static final int CHUNK_SIZE = 1 << 16;
+	
 	// Represents the output analysis information 
 	// to be displayed and stored in an external file.
 	StringBuilder output;
@@ -73,27 +92,34 @@ public final class OutputPrinter
 	public void printAnalysisToScreen(AnalyzedData data) throws IOException
 	{
 		output = new StringBuilder();
-		output.append("# of paragraphs = " + data.getNumberOfParagraphs() + "\n");
-		output.append("# of sentences = " + data.getNumberOfSentences() +"\n");
-		output.append("# of tokens = " + data.getNumberOfTokens() + "\n");
-		output.append("# of types = " + data.getNumberOfTypes() + "\n");
+		output.append("# of paragraphs = ").append(data.getNumberOfParagraphs()).append('\n');
+		output.append("# of sentences = ").append(data.getNumberOfSentences()).append('\n');
+		output.append("# of tokens = ").append(data.getNumberOfTokens()).append('\n');
+		output.append("# of types = ").append(data.getNumberOfTypes()).append('\n');
 		
 		output.append("\n================================");
 		
+		// Words kept off the heap are streamed out in sorted order, rather than gathered into one string.
+		if (data.getVocabulary() != null)
+		{
+			printVocabulary(data.getVocabulary());
+			return;
+		}
+		
 		// Words are ordered by frequency (in the descending order), and words which 
 		// have the same frequency count are ordered by lexicographical order (in the ascending order)
-		List<Entry<String, Integer>> sortedEntries = data.getWords().entrySet().stream().sorted(Entry.<String, Integer>comparingByValue().reversed().thenComparing(Entry::getKey)).collect(Collectors.toList());
+		List<Entry<String, Integer>> sortedEntries = new ArrayList<Entry<String, Integer>>(data.getWords().entrySet());
+		sortedEntries.sort(BY_FREQUENCY);
 		
-		// Display the analysis results.
-		System.out.println(output.toString());
-		
-		output.append("\n");
+		output.append('\n');
 		for (Entry<String, Integer> s : sortedEntries)
 		{
-			output.append(s.toString().replace('=', ' ' ) + "\n");
-			System.out.println(s.toString().replace('=', ' ' ) );
+			output.append(s.toString().replace('=', ' ' )).append('\n');
 		}
 		
+		// Display the analysis results.
+		System.out.print(output);
+		
 		// Save the analysis results to an external file.
 		printAnalysisToFile(output.toString());
 	}
@@ -102,6 +128,46 @@ public final class OutputPrinter
 	//============================================ PRIVATE METHODS =============================================================
 	
 	
+	/**
+	 * Helper method that prints the words of an off-heap
+	 * vocabulary, following the counts already in the output,
+	 * to the screen and the external file a chunk at a time.
+	 * 
+	 * @param vocabulary	the words and their frequencies.
+	 * 
+	 * @throws IOException	if an error occurs while writing the output file.
+	 */
+	private void printVocabulary(OffHeapVocabulary vocabulary) throws IOException
+	{
+		Writer file = FileHandler.getInstance().openOutputFile();
+		try
+		{
+			output.append('\n');
+			Iterator<Entry<String, Long>> sortedEntries = vocabulary.sortedByFrequency();
+			while (sortedEntries.hasNext())
+			{
+				// Same format as printing a map entry, with every '=' replaced by a space.
+				Entry<String, Long> s = sortedEntries.next();
+				output.append(s.getKey().replace('=', ' ')).append(' ').append(s.getValue()).append('\n');
+				
+				if (output.length() >= CHUNK_SIZE)
+				{
+					System.out.print(output);
+					file.write(output.toString());
+					output.setLength(0);
+				}
+			}
+			
+			if (output.length() > 0)
+			{
+				System.out.print(output);
+				file.write(output.toString());
+			}
+		}
+		finally { file.close(); }
+	}
+	
+	
 	/**
 	 * Helper method that prints some given
 	 * text analysis data to an external file.
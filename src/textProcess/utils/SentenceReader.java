@@ -0,0 +1,148 @@
+package textProcess.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import textProcess.structures.SentenceIndex;
+
+
+/**
+ * This class gives random access to the sentences of an
+ * analyzed text file, by reading the memory-mapped file at
+ * the offsets recorded in its sentence index, rather than
+ * re-running the sentence segmenter over the text.
+ * 
+ * The file is mapped in regions of up to 1 GB, each mapped
+ * the first time a sentence within it is read, so files 
+ * larger than the address space a single mapping allows 
+ * are supported.
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class SentenceReader implements Closeable
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the size of each mapped region of the file.
+	private static final long REGION_SIZE = 1L << 30;
+	
+	// Represents the file containing the analyzed text.
+	private final FileChannel channel;
+	
+	// Represents the mapped regions of the file, mapped as needed.
+	private final MappedByteBuffer[] regions;
+	
+	// Represents the index of the sentences in the file.
+	private final SentenceIndex index;
+	
+	// Represents the charset the file is encoded in.
+	private final Charset charset;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Constructor of the class.
+	 * 
+	 * @param filePath	the filepath of the analyzed text-file.
+	 * @param index		the sentence index recorded when the file was analyzed.
+	 * @param charset	the charset the file is encoded in.
+	 * 
+	 * @throws IOException if an error occurs while opening the file.
+	 */
+	public SentenceReader(String filePath, SentenceIndex index, Charset charset) throws IOException
+	{
+		this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+		this.regions = new MappedByteBuffer[(int) ((channel.size() + REGION_SIZE - 1) / REGION_SIZE)];
+		this.index = index;
+		this.charset = charset;
+	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that returns the number
+	 * of sentences in the file.
+	 * 
+	 * @return the number of sentences.
+	 */
+	public int size()
+	{ return index.size(); }
+	
+	
+	/**
+	 * Reads a sentence of the file.
+	 * 
+	 * @param n	the position of the sentence in the file, from 0.
+	 * 
+	 * @return	the text of the sentence.
+	 * 
+	 * @throws IOException	if an error occurs while reading the file.
+	 * @throws IndexOutOfBoundsException if there is no such sentence.
+	 */
+	public String readSentence(int n) throws IOException, IndexOutOfBoundsException
+	{
+		long start = index.getStart(n);
+		byte[] sentence = new byte[index.getByteLength(n)];
+		
+		// Copy the sentence region by region, as it may straddle two regions.
+		int copied = 0;
+		while (copied < sentence.length)
+		{
+			long position = start + copied;
+			MappedByteBuffer region = region((int) (position / REGION_SIZE));
+			int offset = (int) (position % REGION_SIZE);
+			int length = Math.min(sentence.length - copied, region.limit() - offset);
+			
+			region.duplicate().position(offset).get(sentence, copied, length);
+			copied += length;
+		}
+		return new String(sentence, charset);
+	}
+	
+	
+	/**
+	 * Closes the file.
+	 * 
+	 * @throws IOException if an error occurs while closing the file.
+	 */
+	@Override
+	public void close() throws IOException
+	{ channel.close(); }
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that returns a region of the
+	 * file, mapping it if this is its first use.
+	 * 
+	 * @param number	the number of the region.
+	 * 
+	 * @return the mapped region.
+	 * 
+	 * @throws IOException if an error occurs while mapping the file.
+	 */
+	private MappedByteBuffer region(int number) throws IOException
+	{
+		if (regions[number] == null)
+		{
+			long start = number * REGION_SIZE;
+			regions[number] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(REGION_SIZE, channel.size() - start));
+		}
+		return regions[number];
+	}
+	
+}
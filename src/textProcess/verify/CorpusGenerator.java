@@ -0,0 +1,194 @@
+package textProcess.verify;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+
+/**
+ * Generator of scaled test corpora, from a few megabytes
+ * up to many gigabytes, built from the paragraphs of a seed 
+ * text such as the bundled HG-heldout-utf8.txt.
+ * 
+ * The corpus is a random sequence of the seed paragraphs, separated
+ * by blank lines, written until it reaches the requested size. So the
+ * vocabulary keeps growing with the size of the corpus, as it does in 
+ * real text, a share of the paragraphs also gets a new made-up word.
+ * Paragraphs are copied byte for byte, whatever the seed's encoding, 
+ * and the same seed text, size and random seed always give the same
+ * corpus.
+ * 
+ * :EXAMPLE USAGE:
+ * 
+ * java textProcess.verify.CorpusGenerator [--seed=S] [--new-words=RATE] <seed_file_containing_text> <output_file> <size, e.g. 1MB, 500MB, 10GB>
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class CorpusGenerator
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the share of paragraphs given a new word when none is given.
+	private static final double DEFAULT_NEW_WORD_RATE = 0.1;
+	
+	// Represents the size of the output buffer.
+	private static final int BUFFER_SIZE = 1 << 20;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Private Constructor of the class.
+	 * 
+	 */
+	private CorpusGenerator() {	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	public static void main(String[] args) throws IOException
+	{
+		long seed = 1;
+		double newWordRate = DEFAULT_NEW_WORD_RATE;
+		List<String> files = new ArrayList<String>();
+		for (String arg : args)
+		{
+			if (arg.startsWith("--seed=")) { seed = Long.parseLong(arg.substring("--seed=".length())); }
+			else if (arg.startsWith("--new-words=")) { newWordRate = Double.parseDouble(arg.substring("--new-words=".length())); }
+			else { files.add(arg); }
+		}
+		
+		if (files.size() != 3)
+		{
+			System.out.println(":Usage: java textProcess.verify.CorpusGenerator [--seed=S] [--new-words=RATE] <seed_file_containing_text> <output_file> <size, e.g. 1MB, 500MB, 10GB>");
+			return;
+		}
+		
+		long written = generate(files.get(0), files.get(1), parseSize(files.get(2)), seed, newWordRate);
+		System.out.println("Wrote " + written + " bytes to " + files.get(1));
+	}
+	
+	
+	/**
+	 * Writes a corpus of about the given size from the paragraphs
+	 * of a seed text, e.g. for the tiers of a PerformanceCheck.
+	 * 
+	 * @param seedFile		the file containing the seed text.
+	 * @param outputFile	the file the corpus is written to.
+	 * @param size			the size of the corpus, in bytes; the last paragraph may go past it.
+	 * @param seed			the random seed, which with the seed text and size fully determines the corpus.
+	 * @param newWordRate	the share of paragraphs given a new made-up word.
+	 * 
+	 * @return	the number of bytes written.
+	 * 
+	 * @throws IOException	if an error occurs while reading the seed file or writing the corpus.
+	 */
+	static long generate(String seedFile, String outputFile, long size, long seed, double newWordRate) throws IOException
+	{
+		List<byte[]> paragraphs = loadParagraphs(seedFile);
+		SplittableRandom random = new SplittableRandom(seed);
+		long newWords = 0;
+		long written = 0;
+		
+		OutputStream write = new BufferedOutputStream(new FileOutputStream(outputFile), BUFFER_SIZE);
+		try
+		{
+			while (written < size)
+			{
+				byte[] paragraph = paragraphs.get(random.nextInt(paragraphs.size()));
+				
+				if (random.nextDouble() < newWordRate)
+				{
+					// Insert a made-up word at a random space of the paragraph (or at its end).
+					byte[] word = (" zq" + Long.toString(newWords++, 36) + " ").getBytes(StandardCharsets.ISO_8859_1);
+					int at = paragraph.length;
+					for (int i = random.nextInt(paragraph.length); i < paragraph.length; i++) { if (paragraph[i] == ' ') { at = i; break; } }
+					
+					write.write(paragraph, 0, at);
+					write.write(word, 0, (at == paragraph.length) ? word.length - 1 : word.length);
+					write.write(paragraph, Math.min(at + 1, paragraph.length), paragraph.length - Math.min(at + 1, paragraph.length));
+					written += word.length - 1;
+				}
+				else { write.write(paragraph); }
+				
+				write.write('\n');
+				write.write('\n');
+				written += paragraph.length + 2;
+			}
+		}
+		finally { write.close(); }
+		return written;
+	}
+	
+	
+	/**
+	 * Parses a size such as 4096, 1KB, 1MB or 10GB into a number of bytes.
+	 * 
+	 * @param size	the size, with an optional unit.
+	 * 
+	 * @return	the number of bytes.
+	 * 
+	 * @throws IllegalArgumentException if the size is not understood.
+	 */
+	static long parseSize(String size) throws IllegalArgumentException
+	{
+		String value = size.trim().toUpperCase(Locale.ROOT);
+		long unit = 1;
+		if (value.endsWith("KB")) { unit = 1L << 10; }
+		else if (value.endsWith("MB")) { unit = 1L << 20; }
+		else if (value.endsWith("GB")) { unit = 1L << 30; }
+		if (unit > 1) { value = value.substring(0, value.length() - 2); }
+		
+		try { return (long) (Double.parseDouble(value) * unit); }
+		catch (NumberFormatException e) { throw new IllegalArgumentException("Unknown Size: " + size, e); }
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that reads the paragraphs (runs of 
+	 * non-blank lines) of a seed file, as raw bytes.
+	 * 
+	 * @throws IOException	if an error occurs while reading the seed file, or it has no paragraphs.
+	 */
+	private static List<byte[]> loadParagraphs(String filePath) throws IOException
+	{
+		List<byte[]> paragraphs = new ArrayList<byte[]>();
+		StringBuilder paragraph = new StringBuilder();
+		
+		// ISO-8859-1 maps every byte to one char and back, so any encoding survives the round trip.
+		for (String lineOfText : Files.readAllLines(Paths.get(filePath), StandardCharsets.ISO_8859_1))
+		{
+			if (lineOfText.trim().length() > 0) 
+			{ 
+				if (paragraph.length() > 0) { paragraph.append('\n'); }
+				paragraph.append(lineOfText);
+			}
+			else if (paragraph.length() > 0)
+			{
+				paragraphs.add(paragraph.toString().getBytes(StandardCharsets.ISO_8859_1));
+				paragraph.setLength(0);
+			}
+		}
+		if (paragraph.length() > 0) { paragraphs.add(paragraph.toString().getBytes(StandardCharsets.ISO_8859_1)); }
+		
+		if (paragraphs.isEmpty()) { throw new IOException("No Paragraphs in the Seed File " + filePath); }
+		return paragraphs;
+	}
+	
+}
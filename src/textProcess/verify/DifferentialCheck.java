@@ -0,0 +1,523 @@
+package textProcess.verify;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import textProcess.compute.LineOffsetReader;
+import textProcess.compute.ParagraphSkippingReader;
+import textProcess.compute.TextAnalyzer;
+import textProcess.language.LanguageProvider;
+import textProcess.language.Languages;
+import textProcess.shard.ShardCoordinator;
+import textProcess.structures.AnalyzedData;
+import textProcess.structures.CountingStrategy;
+import textProcess.structures.OffHeapVocabulary;
+
+
+/**
+ * Property-based differential check comparing candidate
+ * analyses against the reference analysis on random and 
+ * adversarial text.
+ * 
+ * Each case is a random text mixing ordinary words (taken from a 
+ * corpus file if one is given) with adversarial fragments: contractions
+ * the rules do and do not cover, abbreviations, numbers, markup, accented,
+ * combining, CJK and non-BMP characters, unusual whitespace, blank and 
+ * whitespace-only lines, mixed line endings, very long lines and texts
+ * spanning several parallel batches. For each case:
+ * 
+ * - every line must be segmented into the same sentences, and every
+ *   sentence into the same tokens, by the candidate language as by 
+ *   the reference language (by default both are the bundled English 
+ *   rules, so a new segmenter, tokenizer or contraction expander is 
+ *   checked by registering it as a language);
+ * - every analysis engine, in the candidate language, must give the 
+ *   same results as the reference analysis (TextAnalyzer.analyzeText()
+ *   in the reference language): the same paragraphs, sentences, tokens,
+ *   types, word frequencies and vocabulary statistics (moving-average
+ *   type-token ratio, frequency spectrum and Zipf fit). The engines are
+ *   the sequential analysis, with and without recording sentences, the
+ *   parallel analysis with every counting strategy, in batches of 1 to
+ *   256 lines, and with the words in a memory-mapped scratch file, and,
+ *   every few cases (as it starts worker processes), the sharded 
+ *   analysis, merging into direct memory and into a scratch file;
+ * - the same holds when every other paragraph is left out, as 
+ *   near-duplicates are with --dedup, for every engine but shards.
+ * 
+ * On the first failing case the text is shrunk, by dropping lines and 
+ * then words while the case still fails, and the smallest failing text
+ * is printed along with the seed reproducing the case; the check then 
+ * exits with status 1.
+ * 
+ * :EXAMPLE USAGE:
+ * 
+ * java textProcess.verify.DifferentialCheck [--cases=N] [--seed=S] [--reference=TAG] [--candidate=TAG] [--threads=N] [--corpus=FILE] [--shard-every=N]
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class DifferentialCheck
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the number of cases checked when none is given.
+	private static final int DEFAULT_CASES = 200;
+	
+	// Represents the number of threads of the parallel analysis when none is given.
+	private static final int DEFAULT_THREADS = 4;
+	
+	// Represents how often a case is also analyzed in shards (every N-th case), when not given.
+	private static final int DEFAULT_SHARD_EVERY = 10;
+	
+	// Represents the numbers of shards the sharded analysis is checked with.
+	private static final int[] SHARD_COUNTS = {2, 7};
+	
+	// Represents the numbers of lines per task the parallel analysis is checked with, one per counting strategy in turn.
+	private static final int[] LINES_PER_TASK = {1, 3, 7, TextAnalyzer.DEFAULT_LINES_PER_TASK};
+	
+	// Represents the most distinct words taken from a corpus file.
+	private static final int MAX_CORPUS_WORDS = 50000;
+	
+	// Represents the ordinary words used when no corpus file is given.
+	private static final String[] COMMON_WORDS = {"the", "a", "hotel", "room", "was", "very", "clean", "and", "staff", "friendly", 
+			"we", "stayed", "for", "three", "nights", "breakfast", "good", "but", "not", "great", "location", "is", "near", 
+			"station", "would", "recommend", "it", "to", "anyone", "pool", "bar", "service", "slow", "price", "value", "The", "We"};
+	
+	// Represents text fragments likely to trip up segmentation, tokenization or counting.
+	private static final String[] ADVERSARIAL = {"don't", "Don't", "DON'T", "can't", "won't", "ain't", "do'nt", "isnt", "it's", "It's", 
+			"he's", "He's", "she's", "se's", "Se's", "John's", "Jones'", "we've", "I'm", "they'll", "you're", "I'd", "'twas", "y'all", 
+			"O'Neil", "rock'n'roll", "'s", "'", "''", "n't", "3pm", "42nd", "1990s", "x2", "Mr.", "Dr.", "e.g.", "i.e.", "U.S.A.", 
+			"...", "?!", "!!!", "\"quoted\"", "'single'", "(paren)", "[bracket]", "--", "\u2014", "\u201Csmart\u201D", "caf\u00E9", 
+			"na\u00EFve", "\u00DCberm\u00E4\u00DFig", "a\u0301", "\u65E5\u672C\u8A9E", "\uD83D\uDE00", "\u00A0", "x\u200By", "&amp;", 
+			"http://example.com/a?b=c.d", "user@example.com", "#tag", "$3.50", "50%", "1,000", "3.14", "-", "_", "\u0000"};
+	
+	// Represents the separators placed between fragments of a line.
+	private static final String[] SEPARATORS = {" ", " ", " ", " ", " ", "", "  ", "\t", ". ", "? ", "! ", "... ", ".", ", "};
+	
+	// Represents the reference language.
+	private static LanguageProvider reference;
+	
+	// Represents the candidate language.
+	private static LanguageProvider candidate;
+	
+	// Represents the number of threads of the parallel analysis.
+	private static int threads;
+	
+	// Represents whether the current case is also analyzed in shards.
+	private static boolean shardCase;
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Private Constructor of the class.
+	 * 
+	 */
+	private DifferentialCheck() {	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	public static void main(String[] args) throws IOException
+	{
+		int cases = DEFAULT_CASES;
+		long seed = System.nanoTime();
+		String referenceTag = Languages.DEFAULT_LANGUAGE;
+		String candidateTag = Languages.DEFAULT_LANGUAGE;
+		String corpus = null;
+		int shardEvery = DEFAULT_SHARD_EVERY;
+		threads = DEFAULT_THREADS;
+		
+		for (String arg : args)
+		{
+			if (arg.startsWith("--cases=")) { cases = Integer.parseInt(arg.substring("--cases=".length())); }
+			else if (arg.startsWith("--seed=")) { seed = Long.parseLong(arg.substring("--seed=".length())); }
+			else if (arg.startsWith("--reference=")) { referenceTag = arg.substring("--reference=".length()); }
+			else if (arg.startsWith("--candidate=")) { candidateTag = arg.substring("--candidate=".length()); }
+			else if (arg.startsWith("--threads=")) { threads = Integer.parseInt(arg.substring("--threads=".length())); }
+			else if (arg.startsWith("--corpus=")) { corpus = arg.substring("--corpus=".length()); }
+			else if (arg.startsWith("--shard-every=")) { shardEvery = Integer.parseInt(arg.substring("--shard-every=".length())); }
+			else
+			{
+				System.out.println(":Usage: java textProcess.verify.DifferentialCheck [--cases=N] [--seed=S] [--reference=TAG] [--candidate=TAG] [--threads=N] [--corpus=FILE] [--shard-every=N]");
+				return;
+			}
+		}
+		
+		reference = Languages.forTag(referenceTag);
+		candidate = Languages.forTag(candidateTag);
+		String[] words = (corpus == null) ? COMMON_WORDS : loadWords(corpus);
+		
+		System.out.println("Checking " + cases + " cases of " + candidateTag + " against " + referenceTag + " with seed " + seed);
+		SplittableRandom seeds = new SplittableRandom(seed);
+		for (int i = 0; i < cases; i++)
+		{
+			long caseSeed = seeds.nextLong();
+			String text = randomText(new SplittableRandom(caseSeed), words);
+			shardCase = (shardEvery > 0 && i % shardEvery == 0);
+			
+			String failure = compare(text);
+			if (failure != null)
+			{
+				List<String> pieces = shrink(splitKeepingEnds(text, "(?<=\n|\r(?!\n))"));
+				for (int j = 0; j < pieces.size(); j++) { pieces.set(j, String.join("", shrink(splitKeepingEnds(pieces.get(j), "(?<= )")))); }
+				text = String.join("", shrink(pieces));
+				
+				System.out.println("FAILED case " + i + " (seed " + caseSeed + "): " + failure);
+				System.out.println("Smallest failing text: \"" + escape(text) + "\"");
+				System.out.println("which fails with: " + compare(text));
+				System.exit(1);
+			}
+		}
+		System.out.println("OK " + cases + " cases");
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that reads the distinct
+	 * whitespace-separated words of a corpus file.
+	 * 
+	 * @throws IOException	if an error occurs while reading the corpus file.
+	 */
+	private static String[] loadWords(String filePath) throws IOException
+	{
+		Set<String> words = new LinkedHashSet<String>();
+		BufferedReader read = new BufferedReader(new FileReader(filePath));
+		String lineOfText;
+		while ((lineOfText = read.readLine()) != null && words.size() < MAX_CORPUS_WORDS)
+		{
+			for (String word : lineOfText.trim().split("\\s+")) { if (!word.isEmpty()) { words.add(word); } }
+		}
+		read.close();
+		
+		if (words.isEmpty()) { throw new IOException("No Words in the Corpus File " + filePath); }
+		return words.toArray(new String[0]);
+	}
+	
+	
+	/**
+	 * Helper method that generates a random text.
+	 * 
+	 * @param random	the source of randomness, which fully determines the text.
+	 * @param words		the ordinary words to use.
+	 * 
+	 * @return	the text.
+	 */
+	private static String randomText(SplittableRandom random, String[] words)
+	{
+		// Now and then, a text long enough to be split into several parallel batches.
+		int lines = (random.nextInt(10) == 0) ? 256 + random.nextInt(400) : random.nextInt(20);
+		
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < lines; i++)
+		{
+			int kind = random.nextInt(10);
+			if (kind == 1) { text.append(random.nextBoolean() ? " " : " \t "); }
+			else if (kind != 0)
+			{
+				int fragments = (kind == 2) ? 100 + random.nextInt(400) : 1 + random.nextInt(30);
+				for (int j = 0; j < fragments; j++)
+				{
+					if (j > 0) { text.append(SEPARATORS[random.nextInt(SEPARATORS.length)]); }
+					text.append(random.nextInt(4) == 0 ? ADVERSARIAL[random.nextInt(ADVERSARIAL.length)] : words[random.nextInt(words.length)]);
+				}
+				if (random.nextBoolean()) { text.append('.'); }
+			}
+			
+			// Mostly newlines, sometimes Windows or old Mac line endings, and sometimes none at the end.
+			if (i < lines - 1 || random.nextBoolean())
+			{
+				int ending = random.nextInt(20);
+				text.append(ending == 0 ? "\r" : (ending < 3) ? "\r\n" : "\n");
+			}
+		}
+		return text.toString();
+	}
+	
+	
+	/**
+	 * Helper method that checks one text, comparing the candidate
+	 * with the reference segmentation and tokenization, and every
+	 * analysis engine with the reference analysis.
+	 * 
+	 * @param text	the text to check.
+	 * 
+	 * @return	a description of the first difference found, or null if there is none.
+	 */
+	private static String compare(String text)
+	{
+		TextAnalyzer analyzer = TextAnalyzer.getInstance();
+		try
+		{
+			List<String> lines = readLines(text);
+			for (int i = 0; i < lines.size(); i++)
+			{
+				String lineOfText = lines.get(i);
+				if (lineOfText.trim().length() == 0) { continue; }
+				
+				List<String> referenceSentences = reference.getSegmenter().segment(lineOfText);
+				List<String> candidateSentences = candidate.getSegmenter().segment(lineOfText);
+				if (!referenceSentences.equals(candidateSentences)) 
+				{ return "line " + (i + 1) + " segmented as " + quote(candidateSentences) + " instead of " + quote(referenceSentences); }
+				
+				for (String sentence : referenceSentences)
+				{
+					List<String> referenceTokens = reference.getTokenizer().tokenize(reference.getContractionExpander().expand(sentence));
+					List<String> candidateTokens = candidate.getTokenizer().tokenize(candidate.getContractionExpander().expand(sentence));
+					if (!referenceTokens.equals(candidateTokens)) 
+					{ return "sentence \"" + escape(sentence) + "\" tokenized as " + quote(candidateTokens) + " instead of " + quote(referenceTokens); }
+				}
+			}
+			
+			// The whole text, then the text leaving out every other paragraph, as near-duplicates are left out.
+			String difference = compareEngines(text, null);
+			if (difference == null) { difference = compareEngines(text, everyOtherParagraph(lines)); }
+			if (difference == null && shardCase) { difference = compareShards(text); }
+			return difference;
+		}
+		catch (IOException | RuntimeException e) { return "analysis failed with " + e; }
+		finally { analyzer.setLinesPerTask(TextAnalyzer.DEFAULT_LINES_PER_TASK); }
+	}
+	
+	
+	/**
+	 * Helper method that checks every analysis engine of the
+	 * candidate language, reading a text, against the reference
+	 * analysis of the reference language.
+	 * 
+	 * @param text		the text to check.
+	 * @param excluded	the positions of the paragraphs to leave out, or null to keep them all.
+	 * 
+	 * @return	a description of the first difference found, or null if there is none.
+	 * 
+	 * @throws IOException	if a scratch file cannot be created, or the analysis fails.
+	 */
+	private static String compareEngines(String text, BitSet excluded) throws IOException
+	{
+		TextAnalyzer analyzer = TextAnalyzer.getInstance();
+		String leftOut = (excluded == null) ? "" : " leaving out paragraphs " + excluded;
+		
+		analyzer.setLanguage(reference);
+		analyzer.reset();
+		AnalyzedData expected = analyzer.analyzeText(read(text, excluded));
+		analyzer.setLanguage(candidate);
+		
+		analyzer.reset();
+		String difference = ResultComparison.difference("sequential analysis" + leftOut, analyzer.analyzeText(read(text, excluded)), expected);
+		if (difference != null) { return difference; }
+		
+		// Recording sentences reads the bytes of the text, here in UTF-8, which holds any text.
+		analyzer.reset();
+		LineOffsetReader bytes = new LineOffsetReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, excluded);
+		difference = ResultComparison.difference("sequential analysis recording sentences" + leftOut, analyzer.analyzeText(bytes), expected);
+		if (difference != null) { return difference; }
+		
+		CountingStrategy[] strategies = CountingStrategy.values();
+		for (int i = 0; i < strategies.length; i++)
+		{
+			int linesPerTask = LINES_PER_TASK[i % LINES_PER_TASK.length];
+			analyzer.setLinesPerTask(linesPerTask);
+			analyzer.reset();
+			AnalyzedData actual = analyzer.analyzeTextInParallel(read(text, excluded), threads, strategies[i]);
+			try
+			{
+				String name = strategies[i].name().toLowerCase(Locale.ROOT) + " counting in batches of " + linesPerTask + " lines" + leftOut;
+				difference = ResultComparison.difference(name, actual, expected);
+				if (difference != null) { return difference; }
+			}
+			finally { if (actual.getVocabulary() != null) { actual.getVocabulary().close(); } }
+		}
+		
+		int linesPerTask = LINES_PER_TASK[strategies.length % LINES_PER_TASK.length];
+		OffHeapVocabulary vocabulary = new OffHeapVocabulary(File.createTempFile("differential-check", ".vocabulary"));
+		try
+		{
+			analyzer.setLinesPerTask(linesPerTask);
+			analyzer.reset();
+			AnalyzedData actual = analyzer.analyzeTextInParallel(read(text, excluded), threads, vocabulary);
+			return ResultComparison.difference("off-heap counting in a scratch file in batches of " + linesPerTask + " lines" + leftOut, actual, expected);
+		}
+		finally { vocabulary.close(); }
+	}
+	
+	
+	/**
+	 * Helper method that checks the sharded analysis of a text,
+	 * stored in a file in the platform's default charset, against
+	 * the reference analysis of the same file, keeping the merged
+	 * words in direct memory and, for the last number of shards,
+	 * in a scratch file.
+	 * 
+	 * @param text	the text to check.
+	 * 
+	 * @return	a description of the first difference found, or null if there is none.
+	 * 
+	 * @throws IOException	if the file cannot be written, or the analysis fails.
+	 */
+	private static String compareShards(String text) throws IOException
+	{
+		File input = File.createTempFile("differential-check", ".txt");
+		try
+		{
+			Writer write = new FileWriter(input);
+			try { write.write(text); }
+			finally { write.close(); }
+			
+			TextAnalyzer analyzer = TextAnalyzer.getInstance();
+			analyzer.setLanguage(reference);
+			analyzer.reset();
+			AnalyzedData expected = analyzer.analyzeText(new BufferedReader(new FileReader(input)));
+			analyzer.setLanguage(candidate);
+			
+			for (int i = 0; i < SHARD_COUNTS.length; i++)
+			{
+				boolean scratch = (i == SHARD_COUNTS.length - 1);
+				OffHeapVocabulary vocabulary = scratch ? new OffHeapVocabulary(File.createTempFile("differential-check", ".vocabulary")) : new OffHeapVocabulary();
+				try
+				{
+					AnalyzedData actual = new ShardCoordinator(SHARD_COUNTS[i]).analyze(input.getPath(), candidate, vocabulary);
+					String difference = ResultComparison.difference("analysis in " + SHARD_COUNTS[i] + " shards" + (scratch ? " merged into a scratch file" : ""), actual, expected);
+					if (difference != null) { return difference; }
+				}
+				finally { vocabulary.close(); }
+			}
+			return null;
+		}
+		finally { input.delete(); }
+	}
+	
+	
+	/**
+	 * Helper method that opens a text for reading,
+	 * leaving out the given paragraphs, if any.
+	 */
+	private static BufferedReader read(String text, BitSet excluded)
+	{
+		BufferedReader read = new BufferedReader(new StringReader(text));
+		return (excluded == null) ? read : new ParagraphSkippingReader(read, excluded);
+	}
+	
+	
+	/**
+	 * Helper method that returns the positions of every
+	 * other paragraph of a text's lines, from the first.
+	 */
+	private static BitSet everyOtherParagraph(List<String> lines)
+	{
+		BitSet excluded = new BitSet();
+		int paragraph = 0;
+		boolean inParagraph = false;
+		for (String lineOfText : lines)
+		{
+			boolean blank = lineOfText.trim().length() == 0;
+			if (!blank && !inParagraph && paragraph % 2 == 0) { excluded.set(paragraph); }
+			if (blank && inParagraph) { paragraph++; }
+			inParagraph = !blank;
+		}
+		return excluded;
+	}
+	
+	
+	/**
+	 * Helper method that splits a text into lines
+	 * the way the analysis reads them.
+	 */
+	private static List<String> readLines(String text) throws IOException
+	{
+		List<String> lines = new ArrayList<String>();
+		BufferedReader read = new BufferedReader(new StringReader(text));
+		String lineOfText;
+		while ((lineOfText = read.readLine()) != null) { lines.add(lineOfText); }
+		return lines;
+	}
+	
+	
+	/**
+	 * Helper method that shrinks a failing text, given as 
+	 * pieces, by dropping ever smaller runs of pieces for 
+	 * as long as the text still fails.
+	 * 
+	 * @param pieces	the pieces of the failing text.
+	 * 
+	 * @return	the pieces left.
+	 */
+	private static List<String> shrink(List<String> pieces)
+	{
+		for (int run = Math.max(1, pieces.size() / 2); run >= 1; run /= 2)
+		{
+			for (int start = 0; start + run <= pieces.size(); )
+			{
+				List<String> smaller = new ArrayList<String>(pieces.subList(0, start));
+				smaller.addAll(pieces.subList(start + run, pieces.size()));
+				
+				if (compare(String.join("", smaller)) != null) { pieces = smaller; }
+				else { start += run; }
+			}
+		}
+		return pieces;
+	}
+	
+	
+	/**
+	 * Helper method that splits a string into pieces
+	 * which join back into the whole string.
+	 */
+	private static List<String> splitKeepingEnds(String text, String afterEachPiece)
+	{
+		return new ArrayList<String>(Arrays.asList(text.split(afterEachPiece)));
+	}
+	
+	
+	/**
+	 * Helper method that quotes and escapes a list of strings.
+	 */
+	private static String quote(List<String> values)
+	{
+		List<String> quoted = new ArrayList<String>();
+		for (String value : values) { quoted.add("\"" + escape(value) + "\""); }
+		return quoted.toString();
+	}
+	
+	
+	/**
+	 * Helper method that escapes the control and 
+	 * non-ASCII characters of a string, Java style.
+	 */
+	private static String escape(String value)
+	{
+		StringBuilder escaped = new StringBuilder();
+		for (char c : value.toCharArray())
+		{
+			if (c == '\n') { escaped.append("\\n"); }
+			else if (c == '\r') { escaped.append("\\r"); }
+			else if (c == '\t') { escaped.append("\\t"); }
+			else if (c == '"' || c == '\\') { escaped.append('\\').append(c); }
+			else if (c < ' ' || c > '~') { escaped.append(String.format("\\u%04X", (int) c)); }
+			else { escaped.append(c); }
+		}
+		return escaped.toString();
+	}
+	
+}
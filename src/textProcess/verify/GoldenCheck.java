@@ -0,0 +1,203 @@
+package textProcess.verify;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import textProcess.core.ExecutionPlanner;
+import textProcess.core.TextPreProcessorMain;
+
+
+/**
+ * Regression check comparing the analysis of input files
+ * with golden outputs recorded from the reference (single-threaded)
+ * analysis, such as those kept in data/golden for the bundled files.
+ * 
+ * Each input is analyzed by TextPreProcessorMain in a fresh JVM, so
+ * the check covers the whole program and the analyzer's state never
+ * carries over from one input to the next. Any analysis options (e.g.
+ * --threads=4 --counter=adder) are passed on to the program, so other
+ * analysis engines are held to the same golden outputs. Unless a
+ * --plan option is given, each run is planned with an empty history
+ * of its own, deleted afterwards, so the planner is held to the golden
+ * outputs too, while no timings are read or left behind. The text is
+ * always read as UTF-8, so the outputs do not depend on the platform's
+ * default charset; sentence segmentation does depend on the JDK's 
+ * BreakIterator rules, and the bundled golden outputs were recorded 
+ * with JDK 17.
+ * 
+ * The golden outputs also pin the known quirks of the reference 
+ * analysis, so changing any of them shows up as a difference.
+ * 
+ * The golden output of an input file is the file of the same name, 
+ * with the extension .out, in the golden directory. With --update the 
+ * golden outputs are (re)written instead of checked. The check exits 
+ * with status 1 if any output differs.
+ * 
+ * :EXAMPLE USAGE:
+ * 
+ * java textProcess.verify.GoldenCheck [--update] <golden_directory> <input_file_containing_text>... [analysis_options]
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class GoldenCheck
+{
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Private Constructor of the class.
+	 * 
+	 */
+	private GoldenCheck() {	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		boolean update = false;
+		List<String> files = new ArrayList<String>();
+		List<String> options = new ArrayList<String>();
+		for (String arg : args)
+		{
+			if (arg.equals("--update")) { update = true; }
+			else if (arg.startsWith("--")) { options.add(arg); }
+			else { files.add(arg); }
+		}
+		
+		if (files.size() < 2)
+		{
+			System.out.println(":Usage: java textProcess.verify.GoldenCheck [--update] <golden_directory> <input_file_containing_text>... [analysis_options]");
+			return;
+		}
+		
+		File goldenDirectory = new File(files.get(0));
+		if (!goldenDirectory.isDirectory() && !(update && goldenDirectory.mkdirs())) 
+		{ throw new IOException("Golden Directory Doesn't Exist: " + goldenDirectory); }
+		
+		int failures = 0;
+		for (String input : files.subList(1, files.size()))
+		{
+			File golden = new File(goldenDirectory, new File(input).getName().replaceFirst("\\.[^.]*$", "") + ".out");
+			File output = analyze(input, options);
+			
+			if (update)
+			{
+				Files.move(output.toPath(), golden.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				System.out.println("UPDATED " + golden);
+				continue;
+			}
+			
+			String difference = firstDifference(golden, output);
+			output.delete();
+			if (difference == null) { System.out.println("OK      " + input); }
+			else
+			{
+				System.out.println("FAILED  " + input + ": " + difference);
+				failures++;
+			}
+		}
+		
+		if (failures > 0) { System.exit(1); }
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that analyzes an input file
+	 * in a new JVM process, reading it as UTF-8,
+	 * with a history of plans of its own unless 
+	 * the options say otherwise.
+	 * 
+	 * @param input		the file containing the text to analyze.
+	 * @param options	the analysis options passed on to the program.
+	 * 
+	 * @return	a temporary file holding the output of the analysis.
+	 * 
+	 * @throws IOException	if the process cannot be started, or the analysis fails.
+	 */
+	private static File analyze(String input, List<String> options) throws IOException, InterruptedException
+	{
+		File output = File.createTempFile("golden-check", ".out");
+		
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-Dfile.encoding=UTF-8");
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(TextPreProcessorMain.class.getName());
+		command.add(input);
+		command.add(output.getPath());
+		command.addAll(options);
+		
+		boolean planOptions = false;
+		for (String option : options) { planOptions |= option.startsWith("--plan"); }
+		File history = File.createTempFile("golden-check", ".history");
+		history.delete();
+		if (!planOptions) { command.add("--plan-history=" + history.getPath()); }
+		
+		try
+		{
+			Process process = new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+			
+			// The program reports errors as stack traces rather than through its exit status.
+			StringBuilder errors = new StringBuilder();
+			BufferedReader read = new BufferedReader(new InputStreamReader(process.getErrorStream()));
+			String line;
+			while ((line = read.readLine()) != null)
+			{
+				if (!line.startsWith(ExecutionPlanner.LOG_PREFIX)) { errors.append(line).append(System.lineSeparator()); }
+			}
+			read.close();
+			
+			if (process.waitFor() != 0 || errors.length() > 0 || output.length() == 0)
+			{
+				output.delete();
+				throw new IOException("Analysis of " + input + " failed: " + errors);
+			}
+			return output;
+		}
+		finally { history.delete(); }
+	}
+	
+	
+	/**
+	 * Helper method that compares an output
+	 * with its golden output, line by line.
+	 * 
+	 * @return	a description of the first difference, or null if the files are the same.
+	 * 
+	 * @throws IOException	if an error occurs while reading either file.
+	 */
+	private static String firstDifference(File golden, File output) throws IOException
+	{
+		if (!golden.exists()) { return "no golden output " + golden; }
+		
+		List<String> expected = Files.readAllLines(golden.toPath(), StandardCharsets.UTF_8);
+		List<String> actual = Files.readAllLines(output.toPath(), StandardCharsets.UTF_8);
+		
+		for (int i = 0; i < Math.max(expected.size(), actual.size()); i++)
+		{
+			String expectedLine = (i < expected.size()) ? expected.get(i) : "<end of file>";
+			String actualLine = (i < actual.size()) ? actual.get(i) : "<end of file>";
+			if (!expectedLine.equals(actualLine)) 
+			{ return "line " + (i + 1) + " expected [" + expectedLine + "] but was [" + actualLine + "]"; }
+		}
+		
+		// Same lines, so any difference is in the line endings.
+		return Files.mismatch(golden.toPath(), output.toPath()) < 0 ? null : "line endings differ";
+	}
+	
+}
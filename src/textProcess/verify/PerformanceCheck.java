@@ -0,0 +1,228 @@
+package textProcess.verify;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import textProcess.compute.TextAnalyzer;
+import textProcess.structures.AnalyzedData;
+import textProcess.structures.CountingStrategy;
+
+
+/**
+ * Performance check analyzing an input file, typically a 
+ * scaled corpus from CorpusGenerator, against time and memory
+ * budgets.
+ * 
+ * The whole analysis, including reading the file, is timed once; 
+ * the throughput must reach the given megabytes per second, and the
+ * peak heap use (the sum of the peaks of the heap memory pools, which
+ * bounds the true peak from above) must stay within the given megabytes.
+ * 
+ * With --tiers, the check instead runs every tier of a table of corpus
+ * sizes and budgets, such as the committed data/performance-tiers.txt:
+ * each line gives a size, the threads and counting strategy, and the
+ * throughput and peak heap budgets. The corpus of each tier is generated
+ * from the given seed text, checked and deleted in turn; --up-to leaves 
+ * out the tiers of larger sizes. The check exits with status 1 if any
+ * budget is exceeded.
+ * 
+ * :EXAMPLE USAGE:
+ * 
+ * java -Xmx2g textProcess.verify.PerformanceCheck <input_file_containing_text> [--threads=N] [--counter=NAME] [--min-mb-per-second=X] [--max-heap-mb=Y]
+ * java -Xmx2g textProcess.verify.PerformanceCheck --tiers=<tier_table_file> <seed_file_containing_text> [--up-to=SIZE]
+ * 
+ * @author David Olorundare
+ *
+ */
+public final class PerformanceCheck
+{
+	
+	//============================================ PRIVATE VARIABLES =============================================================
+	
+	
+	// Represents the slowest acceptable throughput, in megabytes per second, when none is given.
+	private static final double DEFAULT_MIN_MB_PER_SECOND = 1.0;
+	
+	// Represents the largest acceptable peak heap use, in megabytes, when none is given.
+	private static final double DEFAULT_MAX_HEAP_MB = 1024;
+	
+	// Represents the random seed and share of new words of the corpora generated for the tiers.
+	private static final long TIER_CORPUS_SEED = 1;
+	private static final double TIER_NEW_WORD_RATE = 0.1;
+	
+	// Represents the usage of the check.
+	private static final String USAGE = ":Usage: java textProcess.verify.PerformanceCheck <input_file_containing_text> [--threads=N] [--counter=NAME] [--min-mb-per-second=X] [--max-heap-mb=Y]\n"
+			+ "        java textProcess.verify.PerformanceCheck --tiers=<tier_table_file> <seed_file_containing_text> [--up-to=SIZE]";
+	
+	
+	//============================================ CONSTRUCTOR =============================================================
+	
+	
+	/**
+	 * Private Constructor of the class.
+	 * 
+	 */
+	private PerformanceCheck() {	}
+	
+	
+	//============================================ PUBLIC METHODS =============================================================
+	
+	
+	public static void main(String[] args) throws IOException
+	{
+		String input = null;
+		String tiers = null;
+		long upTo = Long.MAX_VALUE;
+		int workers = 1;
+		CountingStrategy strategy = CountingStrategy.STRIPED;
+		double minMegabytesPerSecond = DEFAULT_MIN_MB_PER_SECOND;
+		double maxHeapMegabytes = DEFAULT_MAX_HEAP_MB;
+		
+		for (String arg : args)
+		{
+			if (arg.startsWith("--threads=")) { workers = Integer.parseInt(arg.substring("--threads=".length())); }
+			else if (arg.startsWith("--counter=")) { strategy = CountingStrategy.fromName(arg.substring("--counter=".length())); }
+			else if (arg.startsWith("--min-mb-per-second=")) { minMegabytesPerSecond = Double.parseDouble(arg.substring("--min-mb-per-second=".length())); }
+			else if (arg.startsWith("--max-heap-mb=")) { maxHeapMegabytes = Double.parseDouble(arg.substring("--max-heap-mb=".length())); }
+			else if (arg.startsWith("--tiers=")) { tiers = arg.substring("--tiers=".length()); }
+			else if (arg.startsWith("--up-to=")) { upTo = CorpusGenerator.parseSize(arg.substring("--up-to=".length())); }
+			else { input = arg; }
+		}
+		
+		if (input == null)
+		{
+			System.out.println(USAGE);
+			return;
+		}
+		
+		boolean passed = (tiers == null) ? check(input, new File(input).getName(), workers, strategy, minMegabytesPerSecond, maxHeapMegabytes) : checkTiers(tiers, input, upTo);
+		if (!passed) { System.exit(1); }
+		System.out.println("OK");
+	}
+	
+	
+	//============================================ PRIVATE METHODS =============================================================
+	
+	
+	/**
+	 * Helper method that runs every tier of a table, each on
+	 * a corpus of its size generated from a seed text.
+	 * 
+	 * @param tiers		the file of the tier table.
+	 * @param seedFile	the file containing the seed text.
+	 * @param upTo		the largest size of the tiers run.
+	 * 
+	 * @return	whether every tier run is within its budgets.
+	 * 
+	 * @throws IOException	if an error occurs while reading the table or generating or reading a corpus.
+	 * @throws IllegalArgumentException	if a line of the table is not understood.
+	 */
+	private static boolean checkTiers(String tiers, String seedFile, long upTo) throws IOException, IllegalArgumentException
+	{
+		boolean passed = true;
+		for (String line : Files.readAllLines(Paths.get(tiers), StandardCharsets.UTF_8))
+		{
+			// Each tier is: size, threads, counting strategy, least MB per second, most heap MB.
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) { continue; }
+			String[] tier = line.split("\\s+");
+			if (tier.length != 5) { throw new IllegalArgumentException("Tier Must Have 5 Columns: " + line); }
+			
+			long size = CorpusGenerator.parseSize(tier[0]);
+			if (size > upTo) { continue; }
+			
+			File corpus = File.createTempFile("performance-tier", ".txt");
+			try
+			{
+				CorpusGenerator.generate(seedFile, corpus.getPath(), size, TIER_CORPUS_SEED, TIER_NEW_WORD_RATE);
+				passed &= check(corpus.getPath(), tier[0] + " tier", Integer.parseInt(tier[1]), CountingStrategy.fromName(tier[2]), Double.parseDouble(tier[3]), Double.parseDouble(tier[4]));
+			}
+			finally { corpus.delete(); }
+		}
+		return passed;
+	}
+	
+	
+	/**
+	 * Helper method that analyzes a file, timing it and
+	 * measuring its peak heap use, and compares them with
+	 * the budgets.
+	 * 
+	 * @return	whether the analysis is within both budgets.
+	 * 
+	 * @throws IOException	if an error occurs while reading the file.
+	 */
+	private static boolean check(String input, String name, int workers, CountingStrategy strategy, double minMegabytesPerSecond, double maxHeapMegabytes) throws IOException
+	{
+		double megabytes = new File(input).length() / 1e6;
+		TextAnalyzer analyzer = TextAnalyzer.getInstance();
+		analyzer.reset();
+		
+		// Start from the live heap only, so earlier tiers do not count against this one.
+		System.gc();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) { pool.resetPeakUsage(); }
+		long collected = collectionTime();
+		
+		long start = System.nanoTime();
+		BufferedReader read = new BufferedReader(new FileReader(input));
+		AnalyzedData result = (workers > 1) ? analyzer.analyzeTextInParallel(read, workers, strategy) : analyzer.analyzeText(read);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		
+		double heapMegabytes = peakHeap() / 1e6;
+		double megabytesPerSecond = megabytes / seconds;
+		if (result.getVocabulary() != null) { result.getVocabulary().close(); }
+		
+		System.out.println(String.format("%-24s %10.1f MB %10d tokens %10.1f s %10.2f MB/s %10.1f MB heap %8.2f s GC", name, 
+				megabytes, result.getNumberOfTokens(), seconds, megabytesPerSecond, heapMegabytes, (collectionTime() - collected) / 1e3));
+		
+		boolean passed = true;
+		if (megabytesPerSecond < minMegabytesPerSecond)
+		{
+			System.out.println(String.format("FAILED  throughput %.2f MB/s is below the budget of %.2f MB/s", megabytesPerSecond, minMegabytesPerSecond));
+			passed = false;
+		}
+		if (heapMegabytes > maxHeapMegabytes)
+		{
+			System.out.println(String.format("FAILED  peak heap %.1f MB is over the budget of %.1f MB", heapMegabytes, maxHeapMegabytes));
+			passed = false;
+		}
+		return passed;
+	}
+	
+	
+	/**
+	 * Helper method that returns the sum of the peak
+	 * use of the heap memory pools, in bytes.
+	 */
+	private static long peakHeap()
+	{
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+		{
+			if (pool.getType() == MemoryType.HEAP) { peak += pool.getPeakUsage().getUsed(); }
+		}
+		return peak;
+	}
+	
+	
+	/**
+	 * Helper method that returns the total time
+	 * spent in garbage collection, in milliseconds.
+	 */
+	private static long collectionTime()
+	{
+		long total = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) { total += Math.max(0, collector.getCollectionTime()); }
+		return total;
+	}
+	
+}
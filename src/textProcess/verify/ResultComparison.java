@@ -0,0 +1,100 @@
+package textProcess.verify;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import textProcess.structures.AnalyzedData;
+import textProcess.structures.VocabularyStatistics;
+
+
+/**
+ * This class compares the results of two analyses of the
+ * same text, such as those of an analysis engine and of the
+ * reference analysis (TextAnalyzer.analyzeText()), for the checks
+ * of this package: every count, every word frequency, whether kept
+ * on or off the heap, and every vocabulary statistic must be equal.
+ *
+ * @author David Olorundare
+ *
+ */
+final class ResultComparison
+{
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Private Constructor of the class.
+	 *
+	 */
+	private ResultComparison() {	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	/**
+	 * Compares the results of an analysis with those expected.
+	 * Words kept off the heap are copied onto it to be compared.
+	 *
+	 * @param name		the name of the analysis, for the description of a difference.
+	 * @param actual	the results of the analysis.
+	 * @param expected	the results expected.
+	 *
+	 * @return	a description of the first difference found, or null if there is none.
+	 */
+	static String difference(String name, AnalyzedData actual, AnalyzedData expected)
+	{
+		if (actual.getNumberOfParagraphs() != expected.getNumberOfParagraphs()) { return name + " found " + actual.getNumberOfParagraphs() + " paragraphs instead of " + expected.getNumberOfParagraphs(); }
+		if (actual.getNumberOfSentences() != expected.getNumberOfSentences()) { return name + " found " + actual.getNumberOfSentences() + " sentences instead of " + expected.getNumberOfSentences(); }
+		if (actual.getNumberOfTokens() != expected.getNumberOfTokens()) { return name + " found " + actual.getNumberOfTokens() + " tokens instead of " + expected.getNumberOfTokens(); }
+		if (actual.getNumberOfTypes() != expected.getNumberOfTypes()) { return name + " found " + actual.getNumberOfTypes() + " types instead of " + expected.getNumberOfTypes(); }
+
+		String words = wordDifference(actual.getWords(), expected.getWords());
+		if (words != null) { return name + " found " + words; }
+
+		return statisticsDifference(name, actual.getVocabularyStatistics(), expected.getVocabularyStatistics());
+	}
+
+
+	/**
+	 * Compares the vocabulary statistics of an analysis with
+	 * those expected, which must be equal to the last bit.
+	 *
+	 * @param name		the name of the analysis, for the description of a difference.
+	 * @param actual	the vocabulary statistics of the analysis.
+	 * @param expected	the vocabulary statistics expected.
+	 *
+	 * @return	a description of the first difference found, or null if there is none.
+	 */
+	static String statisticsDifference(String name, VocabularyStatistics actual, VocabularyStatistics expected)
+	{
+		if (actual.getTypeTokenRatio() != expected.getTypeTokenRatio())
+		{ return name + " found a type-token ratio of " + actual.getTypeTokenRatio() + " instead of " + expected.getTypeTokenRatio(); }
+		if (actual.getWindowSize() != expected.getWindowSize() || actual.getMovingAverageTypeTokenRatio() != expected.getMovingAverageTypeTokenRatio())
+		{ return name + " found a moving-average type-token ratio of " + actual.getMovingAverageTypeTokenRatio() + " instead of " + expected.getMovingAverageTypeTokenRatio(); }
+		if (!Arrays.equals(actual.getFrequencySpectrum(), expected.getFrequencySpectrum())) { return name + " found a different frequency spectrum"; }
+		if (actual.getZipfExponent() != expected.getZipfExponent() || actual.getZipfFit() != expected.getZipfFit()) { return name + " found a different Zipf fit"; }
+		return null;
+	}
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * Helper method that describes the first word whose
+	 * frequency differs between two analyses, if any.
+	 */
+	private static String wordDifference(Map<String, Integer> actual, Map<String, Integer> expected)
+	{
+		for (Map.Entry<String, Integer> word : expected.entrySet())
+		{
+			Integer frequency = actual.get(word.getKey());
+			if (!word.getValue().equals(frequency)) { return "\"" + word.getKey() + "\" " + ((frequency == null) ? "missing" : frequency + " times") + " instead of " + word.getValue() + " times"; }
+		}
+		if (actual.size() != expected.size()) { return actual.size() + " distinct words instead of " + expected.size(); }
+		return null;
+	}
+
+}
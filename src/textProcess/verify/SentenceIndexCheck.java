@@ -0,0 +1,274 @@
+package textProcess.verify;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import textProcess.compute.ParagraphFilter;
+import textProcess.compute.ParagraphSkippingReader;
+import textProcess.compute.TextAnalyzer;
+import textProcess.structures.AnalyzedData;
+import textProcess.structures.SentenceIndex;
+import textProcess.utils.FileHandler;
+import textProcess.utils.SentenceReader;
+
+
+/**
+ * Check of the sentences recorded during analysis (see
+ * FileHandler.setSentenceRecording()). Each input file is analyzed
+ * with sentences recorded, on its own and with every other paragraph
+ * left out, and each time:
+ *
+ * - the counts of paragraphs, sentences, tokens and types must be
+ *   the same as those of the analysis without recording;
+ * - every sentence read back from the file through a SentenceReader
+ *   must be the same as the segmenter's output for its line, and the
+ *   token counts of the sentences must add up to the tokens.
+ *
+ * Besides the given files, the check runs on a generated file mixing
+ * LF, CR and CRLF line endings, multi-byte and non-BMP characters and
+ * malformed bytes, which must be read back from their exact offsets.
+ * The check exits with status 1 if any file fails.
+ *
+ * :EXAMPLE USAGE:
+ *
+ * java textProcess.verify.SentenceIndexCheck <input_file_containing_text>...
+ *
+ * @author David Olorundare
+ *
+ */
+public final class SentenceIndexCheck
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the lines of the generated file, each written with the line ending following it.
+	private static final String[] GENERATED_LINES = {"The room was clean. The staff were friendly!", "\r\n",
+			"Caf\u00E9 au lait, na\u00EFve \u00DCberm\u00E4\u00DFig guests. We stayed \uD83D\uDE00 three nights.", "\n",
+			"", "\n",
+			"Malformed \u0000 bytes follow. Is it still read back? Yes.", "\r\n",
+			"   ", "\r",
+			"\u65E5\u672C\u8A9E text. Another sentence here.", "\n",
+			"Last line without an ending.", ""};
+
+	// Represents the malformed bytes written in place of the NUL characters of the generated file.
+	private static final byte[] MALFORMED_BYTES = {(byte) 0xFF, (byte) 0xC3, ' ', (byte) 0xE2, (byte) 0x82, ' ', (byte) 0x80};
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Private Constructor of the class.
+	 *
+	 */
+	private SentenceIndexCheck() {	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 1)
+		{
+			System.out.println(":Usage: java textProcess.verify.SentenceIndexCheck <input_file_containing_text>...");
+			return;
+		}
+
+		List<String> inputs = new ArrayList<String>();
+		for (String arg : args) { inputs.add(arg); }
+
+		File generated = writeGeneratedFile();
+		inputs.add(generated.getPath());
+
+		int failures = 0;
+		try
+		{
+			for (String input : inputs)
+			{
+				String difference = check(input, null);
+				if (difference == null) { difference = check(input, everyOtherParagraph(input)); }
+
+				String name = (input.equals(generated.getPath())) ? "generated file" : input;
+				if (difference == null) { System.out.println("OK      " + name); }
+				else
+				{
+					System.out.println("FAILED  " + name + ": " + difference);
+					failures++;
+				}
+			}
+		}
+		finally { generated.delete(); }
+
+		if (failures > 0) { System.exit(1); }
+	}
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * Helper method that analyzes a file with and without
+	 * recording its sentences, and checks the sentences
+	 * read back from the file.
+	 *
+	 * @param input		the file containing the text.
+	 * @param excluded	the positions of the paragraphs to leave out, or null to keep them all.
+	 *
+	 * @return	the first difference found, or null if there is none.
+	 *
+	 * @throws IOException	if an error occurs while reading the file.
+	 */
+	private static String check(String input, BitSet excluded) throws IOException
+	{
+		String leftOut = (excluded == null) ? "" : " (leaving out paragraphs " + excluded + ")";
+		TextAnalyzer analyzer = TextAnalyzer.getInstance();
+
+		// Analyze the file without recording.
+		analyzer.reset();
+		BufferedReader read = new BufferedReader(new FileReader(input));
+		AnalyzedData expected = analyzer.analyzeText((excluded == null) ? read : new ParagraphSkippingReader(read, excluded));
+		int paragraphs = expected.getNumberOfParagraphs();
+		int sentences = expected.getNumberOfSentences();
+		int tokens = expected.getNumberOfTokens();
+		int types = expected.getNumberOfTypes();
+
+		// Analyze it again, recording its sentences.
+		File output = File.createTempFile("sentence-index-check", ".out");
+		FileHandler files = FileHandler.getInstance();
+		AnalyzedData recorded;
+		try
+		{
+			files.setInputFilePath(input);
+			files.setOutputFilePath(output.getPath());
+			files.setExcludedParagraphs(excluded);
+			files.setSentenceRecording(true);
+			analyzer.reset();
+			recorded = files.loadAndCompute(analyzer);
+		}
+		finally
+		{
+			files.setExcludedParagraphs(null);
+			files.setSentenceRecording(false);
+			output.delete();
+		}
+
+		if (recorded.getNumberOfParagraphs() != paragraphs || recorded.getNumberOfSentences() != sentences
+				|| recorded.getNumberOfTokens() != tokens || recorded.getNumberOfTypes() != types)
+		{
+			return "counts differ when recording" + leftOut + ": paragraphs " + recorded.getNumberOfParagraphs() + " vs " + paragraphs
+					+ ", sentences " + recorded.getNumberOfSentences() + " vs " + sentences + ", tokens " + recorded.getNumberOfTokens()
+					+ " vs " + tokens + ", types " + recorded.getNumberOfTypes() + " vs " + types;
+		}
+
+		// Read every sentence back from the file, and compare it with the segmenter's output.
+		List<String> segmented = segment(input, excluded);
+		SentenceIndex index = recorded.getSentenceIndex();
+		if (index.size() != segmented.size())
+		{ return index.size() + " sentences recorded" + leftOut + ", but the segmenter finds " + segmented.size(); }
+
+		long indexedTokens = 0;
+		SentenceReader sentenceReader = files.openSentenceReader(recorded);
+		try
+		{
+			for (int n = 0; n < index.size(); n++)
+			{
+				String sentence = sentenceReader.readSentence(n);
+				if (!sentence.equals(segmented.get(n)))
+				{ return "sentence " + n + leftOut + " reads back as \"" + sentence + "\" instead of \"" + segmented.get(n) + "\""; }
+				indexedTokens += index.getTokenCount(n);
+			}
+		}
+		finally { sentenceReader.close(); }
+
+		if (indexedTokens != tokens)
+		{ return "the token counts of the sentences" + leftOut + " add up to " + indexedTokens + " instead of " + tokens; }
+		return null;
+	}
+
+
+	/**
+	 * Helper method that splits the kept lines of a
+	 * file into sentences with the analyzer's segmenter.
+	 */
+	private static List<String> segment(String input, BitSet excluded) throws IOException
+	{
+		List<String> sentences = new ArrayList<String>();
+		ParagraphFilter paragraphs = (excluded == null) ? null : new ParagraphFilter(excluded);
+
+		BufferedReader read = new BufferedReader(new FileReader(input));
+		try
+		{
+			String line;
+			while ((line = read.readLine()) != null)
+			{
+				if ((paragraphs != null && !paragraphs.keep(line)) || line.trim().length() == 0) { continue; }
+				sentences.addAll(TextAnalyzer.getInstance().getLanguage().getSegmenter().segment(line));
+			}
+		}
+		finally { read.close(); }
+		return sentences;
+	}
+
+
+	/**
+	 * Helper method that returns the positions of
+	 * every other paragraph of a file, from the first.
+	 */
+	private static BitSet everyOtherParagraph(String input) throws IOException
+	{
+		BitSet excluded = new BitSet();
+		int paragraph = 0;
+		boolean inParagraph = false;
+
+		BufferedReader read = new BufferedReader(new FileReader(input));
+		try
+		{
+			String line;
+			while ((line = read.readLine()) != null)
+			{
+				boolean blank = line.trim().length() == 0;
+				if (!blank && !inParagraph && paragraph % 2 == 0) { excluded.set(paragraph); }
+				if (blank && inParagraph) { paragraph++; }
+				inParagraph = !blank;
+			}
+		}
+		finally { read.close(); }
+		return excluded;
+	}
+
+
+	/**
+	 * Helper method that writes the generated file, in
+	 * UTF-8 with malformed bytes in place of NUL characters.
+	 */
+	private static File writeGeneratedFile() throws IOException
+	{
+		File generated = File.createTempFile("sentence-index-check", ".txt");
+		OutputStream out = new FileOutputStream(generated);
+		try
+		{
+			for (String part : GENERATED_LINES)
+			{
+				String[] pieces = part.split("\u0000", -1);
+				for (int i = 0; i < pieces.length; i++)
+				{
+					if (i > 0) { out.write(MALFORMED_BYTES); }
+					out.write(pieces[i].getBytes(StandardCharsets.UTF_8));
+				}
+			}
+		}
+		finally { out.close(); }
+		return generated;
+	}
+
+}
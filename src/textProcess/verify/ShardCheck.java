@@ -0,0 +1,168 @@
+package textProcess.verify;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import textProcess.compute.TextAnalyzer;
+import textProcess.shard.ShardCoordinator;
+import textProcess.structures.AnalyzedData;
+import textProcess.structures.OffHeapVocabulary;
+
+
+/**
+ * Check that analyzing a file in shards (see ShardCoordinator)
+ * gives the same results as analyzing it in one process with
+ * TextAnalyzer.analyzeText(): the same paragraphs, sentences, tokens,
+ * types, word frequencies and vocabulary statistics.
+ *
+ * Each input file is analyzed with several numbers of shards, the
+ * merged words kept in direct memory and, for one of them, in a
+ * memory-mapped scratch file. Besides the given files, the check runs
+ * on generated files whose splits are edge cases: fewer paragraphs than
+ * shards, a single paragraph, a paragraph longer than a shard, CRLF and
+ * CR-only line endings, leading, trailing and repeated blank lines,
+ * whitespace-only lines, a single line without an ending, and no text.
+ * The check exits with status 1 if any file fails.
+ *
+ * :EXAMPLE USAGE:
+ *
+ * java textProcess.verify.ShardCheck [<input_file_containing_text>...]
+ *
+ * @author David Olorundare
+ *
+ */
+public final class ShardCheck
+{
+
+	//============================================ PRIVATE VARIABLES =============================================================
+
+
+	// Represents the numbers of shards the given files are analyzed with; the last keeps its words in a scratch file.
+	private static final int[] SHARD_COUNTS = {2, 3, 8, 5};
+
+	// Represents the numbers of shards the generated files are analyzed with; the last keeps its words in a scratch file.
+	private static final int[] GENERATED_SHARD_COUNTS = {2, 7};
+
+	// Represents a paragraph of the generated files.
+	private static final String PARAGRAPH = "The room was clean. The staff were friendly and we stayed three nights!\nBreakfast was good, but the pool was not.";
+
+	// Represents the generated files, by name and text.
+	private static final String[][] GENERATED = {
+			{"fewer paragraphs than shards", PARAGRAPH + "\n\n" + PARAGRAPH + "\n"},
+			{"a single paragraph", repeat(PARAGRAPH + "\n", 40)},
+			{"a paragraph longer than a shard", repeat(PARAGRAPH + "\n\n", 3) + repeat(PARAGRAPH + "\n", 60) + "\n" + repeat(PARAGRAPH + "\n\n", 3)},
+			{"CRLF line endings", repeat(PARAGRAPH.replace("\n", "\r\n") + "\r\n\r\n", 20)},
+			{"CR line endings", repeat(PARAGRAPH.replace("\n", "\r") + "\r\r", 20)},
+			{"leading, trailing and repeated blank lines", "\n\n\n" + repeat(PARAGRAPH + "\n\n\n\n", 20) + "\n\n"},
+			{"whitespace-only lines", repeat(PARAGRAPH + "\n \t \n", 20) + "   "},
+			{"a single line without an ending", "The room was clean. The staff were friendly."},
+			{"no text", ""}};
+
+
+	//============================================ CONSTRUCTOR =============================================================
+
+
+	/**
+	 * Private Constructor of the class.
+	 *
+	 */
+	private ShardCheck() {	}
+
+
+	//============================================ PUBLIC METHODS =============================================================
+
+
+	public static void main(String[] args) throws IOException
+	{
+		int failures = 0;
+
+		for (String input : args)
+		{ failures += report(input, check(input, SHARD_COUNTS)); }
+
+		for (String[] generated : GENERATED)
+		{
+			File input = File.createTempFile("shard-check", ".txt");
+			try
+			{
+				OutputStream out = new FileOutputStream(input);
+				try { out.write(generated[1].getBytes(Charset.defaultCharset())); }
+				finally { out.close(); }
+
+				failures += report(generated[0], check(input.getPath(), GENERATED_SHARD_COUNTS));
+			}
+			finally { input.delete(); }
+		}
+
+		if (failures > 0) { System.exit(1); }
+	}
+
+
+	//============================================ PRIVATE METHODS =============================================================
+
+
+	/**
+	 * Helper method that analyzes a file in one process, then in
+	 * each number of shards, and compares the results.
+	 *
+	 * @param input		the file containing the text.
+	 * @param shardCounts	the numbers of shards; the last keeps its words in a scratch file.
+	 *
+	 * @return	the first difference found, or null if there is none.
+	 *
+	 * @throws IOException	if an error occurs while reading the file or a worker fails.
+	 */
+	private static String check(String input, int[] shardCounts) throws IOException
+	{
+		TextAnalyzer analyzer = TextAnalyzer.getInstance();
+		analyzer.reset();
+		AnalyzedData expected = analyzer.analyzeText(new BufferedReader(new FileReader(input)));
+
+		for (int i = 0; i < shardCounts.length; i++)
+		{
+			File scratch = (i == shardCounts.length - 1) ? File.createTempFile("shard-check", ".vocabulary") : null;
+			OffHeapVocabulary vocabulary = (scratch == null) ? new OffHeapVocabulary() : new OffHeapVocabulary(scratch);
+			try
+			{
+				AnalyzedData actual = new ShardCoordinator(shardCounts[i]).analyze(input, analyzer.getLanguage(), vocabulary);
+				String difference = ResultComparison.difference(shardCounts[i] + " shards" + ((scratch == null) ? "" : " (words in a scratch file)"), actual, expected);
+				if (difference != null) { return difference; }
+			}
+			finally { vocabulary.close(); }
+		}
+		return null;
+	}
+
+
+	/**
+	 * Helper method that prints the result of checking a file.
+	 *
+	 * @return	1 if the file failed, or 0.
+	 */
+	private static int report(String name, String difference)
+	{
+		if (difference == null)
+		{
+			System.out.println("OK      " + name);
+			return 0;
+		}
+		System.out.println("FAILED  " + name + ": " + difference);
+		return 1;
+	}
+
+
+	/**
+	 * Helper method that repeats a text.
+	 */
+	private static String repeat(String text, int times)
+	{
+		StringBuilder repeated = new StringBuilder();
+		for (int i = 0; i < times; i++) { repeated.append(text); }
+		return repeated.toString();
+	}
+
+}